@@ -0,0 +1,124 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Bulk-loads users, items, bookings and comments with plain JDBC batches. Identity columns start at 1 in the
+ * fresh database, so users are {@code 1..users} and items {@code 1..items}; item {@code i} belongs to user
+ * {@code 1 + (i - 1) % owners}. Names and descriptions draw on a small tool vocabulary, and every description
+ * carries a unique serial number, so searches can target both common and rare terms.
+ */
+final class BenchmarkData {
+    static final String[] WORDS = {
+        "drill", "hammer", "saw", "ladder", "wrench", "sander", "grinder", "jigsaw", "chisel", "clamp",
+        "tent", "kayak", "paddle", "bicycle", "helmet", "scooter", "skis", "snowboard", "sleeping", "backpack",
+        "camera", "tripod", "lens", "projector", "speaker", "microphone", "drone", "telescope", "guitar", "amplifier",
+        "mixer", "blender", "juicer", "grill", "smoker", "cooler", "lantern", "stove", "heater", "fan",
+        "vacuum", "washer", "steamer", "iron", "mower", "trimmer", "blower", "pump", "compressor", "generator"
+    };
+
+    static final String COMMON_WORD = "drill";
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Random random = new Random(42);
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    BenchmarkData(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    static String serial(long itemId) {
+        return "SN" + (1_000_000_000L + itemId);
+    }
+
+    BenchmarkData users(int count) {
+        try (Batch batch = new Batch("INSERT INTO users (name, email) VALUES (?, ?)")) {
+            for (int i = 1; i <= count; i++) {
+                batch.add("User " + i, "user" + i + "@example.com");
+            }
+        }
+        return this;
+    }
+
+    BenchmarkData items(int count, int owners) {
+        try (Batch batch = new Batch("INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= count; i++) {
+                batch.add(word() + " " + word(), "Well kept " + word() + " and " + word() + ", serial " + serial(i),
+                        i % 10 != 0, 1 + (i - 1) % owners);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Gives every item {@code perItem} consecutive week-long bookings by random users among the first
+     * {@code bookers}, half of them in the past and half in the future. Most are approved; one in ten is waiting
+     * and one in ten rejected.
+     */
+    BenchmarkData bookings(int items, int perItem, int bookers) {
+        try (Batch batch = new Batch(
+                "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)")) {
+            for (int item = 1; item <= items; item++) {
+                LocalDateTime start = now.minusWeeks(perItem / 2).minusDays(3);
+                for (int j = 0; j < perItem; j++, start = start.plusWeeks(1)) {
+                    int roll = random.nextInt(10);
+                    String status = roll == 0 ? "WAITING" : roll == 1 ? "REJECTED" : "APPROVED";
+                    batch.add(Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(6)), item,
+                            1 + random.nextInt(bookers), status);
+                }
+            }
+        }
+        return this;
+    }
+
+    BenchmarkData comments(int items, int perItem, int authors) {
+        try (Batch batch = new Batch("INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)")) {
+            for (int item = 1; item <= items; item++) {
+                for (int j = 0; j < perItem; j++) {
+                    batch.add("The " + word() + " worked fine", item, 1 + random.nextInt(authors),
+                            Timestamp.valueOf(now.minusDays(j + 1)));
+                }
+            }
+        }
+        return this;
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private final class Batch implements AutoCloseable {
+        private final String sql;
+
+        private final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+
+        private Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() == BATCH_SIZE) {
+                close();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
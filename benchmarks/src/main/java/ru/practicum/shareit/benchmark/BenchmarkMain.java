@@ -0,0 +1,25 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs the JMH suites with the usual JMH command line, except that results are written as JSON
+ * ({@code jmh-result.json}, or the {@code -rff} file) unless {@code -rf} asks for another format.
+ */
+public final class BenchmarkMain {
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = Arrays.asList(args);
+        if (arguments.contains("-rf")) {
+            Main.main(args);
+        } else {
+            Main.main(Stream.concat(Stream.of("-rf", "json"), arguments.stream()).toArray(String[]::new));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The booker and owner booking listings for each state, through {@code BookingServiceImpl}'s state switch down to
+ * the repository queries and DTO mapping. Seeds 100k bookings over 5,000 items, made by 300 users: each user has
+ * about 330 bookings as a booker, and the 50 items of each owner carry 1,000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingQueryBenchmark {
+    private static final int USERS = 300;
+
+    private static final int OWNERS = 100;
+
+    private static final int ITEMS = 5_000;
+
+    private static final long OWNER_ID = 1;
+
+    private static final long BOOKER_ID = 101;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public String state;
+
+    private ConfigurableApplicationContext context;
+
+    private BookingService bookingService;
+
+    private BookingMapper bookingMapper;
+
+    @Setup
+    public void setUp() {
+        context = ShareItBenchmarkContext.start(jdbcTemplate -> new BenchmarkData(jdbcTemplate)
+                .users(USERS)
+                .items(ITEMS, OWNERS)
+                .bookings(ITEMS, 20, USERS));
+        bookingService = context.getBean(BookingService.class);
+        bookingMapper = context.getBean(BookingMapper.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> bookerBookings() {
+        return bookingService.getUserBookings(BOOKER_ID, state, 0, 20).stream()
+                .map(bookingMapper::toResponseDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> ownerBookings() {
+        return bookingService.getOwnerBookings(OWNER_ID, state, 0, 20).stream()
+                .map(bookingMapper::toResponseDto)
+                .toList();
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The owner's item card and item listing as booking history grows. {@code getItem} only ever needs the last and
+ * next booking, so its cost should stay flat from 10 to 1,000 bookings per item; it runs with both the sequential
+ * and the parallel details loader. Seeds 1,000 items, 10 per owner, with 5 comments each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemQueryBenchmark {
+    private static final int USERS = 200;
+
+    private static final int OWNERS = 100;
+
+    private static final int ITEMS = 1_000;
+
+    private static final long OWNER_ID = 1;
+
+    private static final long ITEM_ID = 1;
+
+    @Param({"10", "1000"})
+    public int bookingsPerItem;
+
+    @Param({"sequential", "parallel"})
+    public String detailsLoader;
+
+    private ConfigurableApplicationContext context;
+
+    private ItemService itemService;
+
+    private ItemMapper itemMapper;
+
+    @Setup
+    public void setUp() {
+        context = ShareItBenchmarkContext.start(jdbcTemplate -> new BenchmarkData(jdbcTemplate)
+                        .users(USERS)
+                        .items(ITEMS, OWNERS)
+                        .bookings(ITEMS, bookingsPerItem, USERS)
+                        .comments(ITEMS, 5, USERS),
+                "shareit.item.details-loader.mode=" + detailsLoader);
+        itemService = context.getBean(ItemService.class);
+        itemMapper = context.getBean(ItemMapper.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ItemDto ownerGetItem() {
+        return itemMapper.toDto(itemService.getItem(ITEM_ID, OWNER_ID));
+    }
+
+    @Benchmark
+    public List<ItemDto> ownerItems() {
+        return itemService.getUserItems(OWNER_ID, 0, 20).stream()
+                .map(itemMapper::toDto)
+                .toList();
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item search through the {@code LIKE} query and through the in-memory inverted index, for a word found in about
+ * one item in twelve and for a serial number found in one item. The million-item catalogue takes a few gigabytes of
+ * heap and a minute or two to load per fork; pass {@code -p itemCount=10000,100000} to skip it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemSearchBenchmark {
+    private static final int OWNERS = 1_000;
+
+    @Param({"like", "memory"})
+    public String engine;
+
+    @Param({"10000", "100000", "1000000"})
+    public int itemCount;
+
+    private ConfigurableApplicationContext context;
+
+    private ItemService itemService;
+
+    private String serial;
+
+    @Setup
+    public void setUp() {
+        context = ShareItBenchmarkContext.start(jdbcTemplate -> new BenchmarkData(jdbcTemplate)
+                        .users(OWNERS)
+                        .items(itemCount, OWNERS),
+                "shareit.item.search.engine=" + engine);
+        itemService = context.getBean(ItemService.class);
+        serial = BenchmarkData.serial(itemCount / 2 + 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> commonWord() {
+        return itemService.searchItems(BenchmarkData.COMMON_WORD, 0, 20);
+    }
+
+    @Benchmark
+    public List<Item> serialNumber() {
+        return itemService.searchItems(serial, 0, 20);
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.BookingView;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.CommentMapper;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping on its own, without Spring or a database: the per-row cost every listing endpoint pays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final BookingMapper bookingMapper = new BookingMapper();
+
+    private final CommentMapper commentMapper = new CommentMapper();
+
+    private final ItemMapper itemMapper = new ItemMapper(commentMapper);
+
+    private Booking booking;
+
+    private BookingView bookingView;
+
+    private Item item;
+
+    private Comment comment;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1L, "Owner", "owner@example.com");
+        User booker = new User(2L, "Booker", "booker@example.com");
+
+        item = new Item();
+        item.setId(10L);
+        item.setName("Cordless drill");
+        item.setDescription("18V drill with two batteries");
+        item.setAvailable(true);
+        item.setOwner(owner);
+
+        List<Comment> comments = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            comments.add(new Comment(i, "Worked fine, comment " + i, item, booker, now.minusDays(i)));
+        }
+        item.setComments(comments);
+        comment = comments.get(0);
+
+        booking = new Booking(100L, now.plusDays(1), now.plusDays(2), item, booker, BookingStatus.APPROVED);
+        bookingView = new BookingView(100L, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED,
+                booker.getId(), booker.getName(), item.getId(), item.getName());
+    }
+
+    @Benchmark
+    public BookingResponseDto bookingToResponseDto() {
+        return bookingMapper.toResponseDto(booking);
+    }
+
+    @Benchmark
+    public BookingResponseDto bookingViewToResponseDto() {
+        return bookingMapper.toResponseDto(bookingView);
+    }
+
+    @Benchmark
+    public ItemDto itemWithTenCommentsToDto() {
+        return itemMapper.toDto(item);
+    }
+
+    @Benchmark
+    public CommentDto commentToDto() {
+        return commentMapper.toDto(comment);
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Boots the server without a web server against a private in-memory H2 database. The seeder runs once
+ * Flyway has created the schema but before {@code ApplicationReadyEvent}, so the indexes and filters that warm up
+ * on that event are built from the seeded data, as they would be on a production restart.
+ */
+final class ShareItBenchmarkContext {
+    private ShareItBenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(Consumer<JdbcTemplate> seeder, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=test",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID(),
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--shareit.virtual-threads.pinning-monitor.enabled=false",
+                "--shareit.booking.state-counters.roll-forward-delay=PT24H"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+
+        ApplicationListener<ApplicationEvent> seeding = event -> {
+            if (event instanceof ApplicationStartedEvent started) {
+                seeder.accept(started.getApplicationContext().getBean(JdbcTemplate.class));
+            }
+        };
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .listeners(seeding)
+                .run(args.toArray(String[]::new));
+    }
+}
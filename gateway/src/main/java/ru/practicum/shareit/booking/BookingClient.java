@@ -6,10 +6,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -17,11 +18,12 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
@@ -35,6 +37,25 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, LocalDateTime cursorStart,
+                                              Long cursorId, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "cursorStart", cursorStart,
+                "cursorId", cursorId,
+                "size", size
+        );
+        return get("?state={state}&cursorStart={cursorStart}&cursorId={cursorId}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getBookingSummary(long userId) {
+        return get("/summary", userId);
+    }
+
+    public ResponseEntity<Object> getOwnerBookingSummary(long userId) {
+        return get("/owner/summary", userId);
+    }
+
     public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
@@ -56,4 +77,16 @@ public class BookingClient extends BaseClient {
         );
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
+
+    public ResponseEntity<Object> getOwnerBookings(long userId, BookingState state, LocalDateTime cursorStart,
+                                                   Long cursorId, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "cursorStart", cursorStart,
+                "cursorId", cursorId,
+                "size", size
+        );
+        return get("/owner?state={state}&cursorStart={cursorStart}&cursorId={cursorId}&size={size}",
+                userId, parameters);
+    }
 }
\ No newline at end of file
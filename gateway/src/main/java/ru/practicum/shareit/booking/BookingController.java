@@ -5,6 +5,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,6 +18,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
@@ -51,10 +54,29 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-            @Positive @RequestParam(defaultValue = "10") Integer size) {
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime cursorStart,
+            @RequestParam(required = false) Long cursorId) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        return bookingClient.getBookings(userId, state, from, size);
+        if (cursorStart == null && cursorId == null) {
+            return bookingClient.getBookings(userId, state, from, size);
+        }
+        if (cursorStart == null || cursorId == null) {
+            throw new IllegalArgumentException("cursorStart and cursorId must be specified together");
+        }
+        return bookingClient.getBookings(userId, state, cursorStart, cursorId, size);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<Object> getSummaryByUser(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return bookingClient.getBookingSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public ResponseEntity<Object> getSummaryByOwner(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return bookingClient.getOwnerBookingSummary(userId);
     }
 
     @GetMapping("/owner")
@@ -62,9 +84,18 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-            @Positive @RequestParam(defaultValue = "10") Integer size) {
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime cursorStart,
+            @RequestParam(required = false) Long cursorId) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        return bookingClient.getOwnerBookings(userId, state, from, size);
+        if (cursorStart == null && cursorId == null) {
+            return bookingClient.getOwnerBookings(userId, state, from, size);
+        }
+        if (cursorStart == null || cursorId == null) {
+            throw new IllegalArgumentException("cursorStart and cursorId must be specified together");
+        }
+        return bookingClient.getOwnerBookings(userId, state, cursorStart, cursorId, size);
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.client;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -15,8 +17,28 @@ import org.springframework.web.client.RestTemplate;
 public class BaseClient {
     protected final RestTemplate rest;
 
+    @Nullable
+    private final ResponseCache responseCache;
+
+    private final String resource;
+
+    private final Set<String> invalidatedResources;
+
     public BaseClient(RestTemplate rest) {
+        this(rest, null, "", Set.of());
+    }
+
+    /**
+     * @param resource             the cache group of responses fetched through {@link #cachedGet}
+     * @param invalidatedResources the cache groups a successful POST, PUT, PATCH or DELETE through this client
+     *                             makes stale
+     */
+    public BaseClient(RestTemplate rest, @Nullable ResponseCache responseCache, String resource,
+                      Set<String> invalidatedResources) {
         this.rest = rest;
+        this.responseCache = responseCache;
+        this.resource = resource;
+        this.invalidatedResources = invalidatedResources;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -31,6 +53,21 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * Same as {@link #get(String, Long, Map)}, but serves repeated requests from the {@link ResponseCache}.
+     * {@code endpoint} names the call in the cache hit and miss meters.
+     */
+    protected ResponseEntity<Object> cachedGet(String endpoint, String path, Long userId,
+                                               @Nullable Map<String, Object> parameters) {
+        if (responseCache == null) {
+            return get(path, userId, parameters);
+        }
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        return responseCache.get(resource, endpoint, uri, userId, () -> get(path, userId, parameters));
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -82,15 +119,21 @@ public class BaseClient {
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(passthroughHeaders(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
+        }
+        if (responseCache != null && method != HttpMethod.GET
+                && shareitServerResponse.getStatusCode().is2xxSuccessful()) {
+            responseCache.invalidate(invalidatedResources);
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
@@ -105,12 +148,17 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    /**
+     * Relays the server response as raw bytes with its status and content type, so the JSON is never parsed
+     * and re-serialized by the gateway. Hop-by-hop and framing headers are left for the gateway's own
+     * connection to set.
+     * <p>
+     * The body is buffered whole rather than streamed: server responses are small JSON documents, and
+     * {@link ResponseCache} has to hold on to a complete body to replay it.
+     */
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(passthroughHeaders(response.getHeaders()));
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -118,4 +166,12 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    private static HttpHeaders passthroughHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null && serverHeaders.getContentType() != null) {
+            headers.setContentType(serverHeaders.getContentType());
+        }
+        return headers;
+    }
 }
\ No newline at end of file
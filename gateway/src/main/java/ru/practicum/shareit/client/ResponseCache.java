@@ -0,0 +1,95 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, time-limited cache of successful GET responses from the ShareIt server. Entries are keyed on the
+ * method, expanded URI and sharer id and grouped by the resource of the client that stored them; a successful
+ * write through any client drops every entry of the resources it declares as affected.
+ */
+@Component
+public class ResponseCache {
+    private static final String CACHE_NAME = "gateway.responses";
+
+    private final Cache<Key, ResponseEntity<Object>> cache;
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> hits = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> misses = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCache(@Value("${shareit-gateway.response-cache.ttl:PT10S}") Duration ttl,
+                         @Value("${shareit-gateway.response-cache.maximum-size:10000}") long maximumSize,
+                         MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.meterRegistry = meterRegistry;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached response for the request or loads it. A loaded response is only stored if it is
+     * successful and no write invalidated the resource while it was in flight.
+     */
+    public ResponseEntity<Object> get(String resource, String endpoint, URI uri, @Nullable Long userId,
+                                      Supplier<ResponseEntity<Object>> loader) {
+        Key key = new Key(resource, HttpMethod.GET, uri.toString(), userId);
+        ResponseEntity<Object> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            counter(hits, endpoint, "hit").increment();
+            return cached;
+        }
+        counter(misses, endpoint, "miss").increment();
+
+        AtomicLong generation = generation(resource);
+        long loadedAt = generation.get();
+        ResponseEntity<Object> response = loader.get();
+        if (response.getStatusCode().is2xxSuccessful()) {
+            cache.asMap().compute(key, (k, previous) -> generation.get() == loadedAt ? response : previous);
+        }
+        return response;
+    }
+
+    public void invalidate(Collection<String> resources) {
+        resources.forEach(resource -> generation(resource).incrementAndGet());
+        cache.asMap().keySet().removeIf(key -> resources.contains(key.resource()));
+    }
+
+    private AtomicLong generation(String resource) {
+        return generations.computeIfAbsent(resource, r -> new AtomicLong());
+    }
+
+    private Counter counter(Map<String, Counter> counters, String endpoint, String result) {
+        return counters.computeIfAbsent(endpoint, e -> Counter.builder(CACHE_NAME + ".requests")
+                .description("Gateway response cache lookups per endpoint")
+                .tag("endpoint", e)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+
+    private record Key(String resource, HttpMethod method, String uri, @Nullable Long userId) {
+    }
+}
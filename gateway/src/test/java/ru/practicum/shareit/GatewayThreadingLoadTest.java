@@ -0,0 +1,153 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load harness comparing gateway request handling on platform and virtual threads. A stub ShareIt server answers
+ * {@code GET /items/{id}} after a fixed latency, and many concurrent clients call the gateway, which relays each
+ * request through its pooled HTTP client. Each run logs throughput and latency percentiles. Only runs on
+ * request:
+ * <pre>
+ * mvn -pl gateway test -Dtest=GatewayThreadingLoadTest -Dshareit.load-test=true
+ * </pre>
+ * and {@code -Dshareit.load-test.concurrency}, {@code .requests}, {@code .backend-latency-ms} and
+ * {@code .max-connections} adjust the load. The default of 5000 concurrent clients needs a multi-core machine
+ * and a raised open-files limit.
+ */
+@EnabledIfSystemProperty(named = "shareit.load-test", matches = "true")
+class GatewayThreadingLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(GatewayThreadingLoadTest.class);
+
+    private static final int WARM_UP_REQUESTS = 500;
+
+    private static final byte[] ITEM_JSON =
+            "{\"id\":1,\"name\":\"Drill\",\"description\":\"Cordless drill\",\"available\":true}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final int concurrency = Integer.getInteger("shareit.load-test.concurrency", 5000);
+    private final int requestsPerClient = Integer.getInteger("shareit.load-test.requests", 5);
+    private final int backendLatencyMs = Integer.getInteger("shareit.load-test.backend-latency-ms", 50);
+    private final int maxConnections = Integer.getInteger("shareit.load-test.max-connections", 200);
+
+    private HttpServer backend;
+
+    private ExecutorService backendExecutor;
+
+    @BeforeEach
+    void startBackend() throws IOException {
+        backendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        backend = HttpServer.create(new InetSocketAddress("localhost", 0), concurrency);
+        backend.setExecutor(backendExecutor);
+        backend.createContext("/items/", exchange -> {
+            try {
+                Thread.sleep(backendLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, ITEM_JSON.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(ITEM_JSON);
+            }
+        });
+        backend.start();
+    }
+
+    @AfterEach
+    void stopBackend() {
+        backend.stop(0);
+        backendExecutor.close();
+    }
+
+    @ParameterizedTest(name = "virtual threads: {0}")
+    @ValueSource(booleans = {false, true})
+    void getItem(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--shareit-server.url=http://localhost:" + backend.getAddress().getPort(),
+                "--shareit-server.http-client.max-connections=" + maxConnections,
+                "--shareit-server.http-client.max-connections-per-route=" + maxConnections,
+                "--shareit-server.http-client.connection-request-timeout=PT60S",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN",
+                "--logging.level." + GatewayThreadingLoadTest.class.getName() + "=INFO")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+                send(client, port);
+            }
+
+            long[] latencies = new long[concurrency * requestsPerClient];
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            long started = System.nanoTime();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < concurrency; c++) {
+                    clients.submit(() -> {
+                        for (int r = 0; r < requestsPerClient; r++) {
+                            long requestStarted = System.nanoTime();
+                            if (!send(client, port)) {
+                                errors.incrementAndGet();
+                            }
+                            latencies[next.getAndIncrement()] = System.nanoTime() - requestStarted;
+                        }
+                    });
+                }
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            Arrays.sort(latencies);
+            log.info("{} threads, {} clients, backend {} ms, pool {}: {} req/s, p50 {} ms, p99 {} ms, max {} ms,"
+                            + " {} errors", virtualThreads ? "virtual" : "platform", concurrency, backendLatencyMs,
+                    maxConnections, Math.round(latencies.length / seconds), percentile(latencies, 0.50),
+                    percentile(latencies, 0.99), percentile(latencies, 1.0), errors.get());
+            assertEquals(0, errors.get());
+        }
+    }
+
+    private static boolean send(HttpClient client, int port) {
+        long itemId = ThreadLocalRandom.current().nextLong(1, 1000);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items/" + itemId))
+                .header("X-Sharer-User-Id", "1")
+                .timeout(Duration.ofSeconds(120))
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))] / 1_000_000;
+    }
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+class BaseClientTest {
+    private static final String SERVER_URL = "http://shareit-server";
+
+    private static final MediaType JSON_UTF8 = new MediaType(MediaType.APPLICATION_JSON, StandardCharsets.UTF_8);
+
+    private MockRestServiceServer server;
+
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL + "/items"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new TestClient(rest);
+    }
+
+    @Test
+    void successfulResponse_shouldBeRelayedByteForByte() {
+        byte[] body = "{ \"id\" : 1,\n  \"name\" : \"Дрель\", \"price\": 1.50 }".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "7"))
+                .andRespond(withStatus(HttpStatus.CREATED).contentType(JSON_UTF8).body(body));
+
+        ResponseEntity<Object> response = client.get("/1", 7L);
+
+        server.verify();
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(JSON_UTF8, response.getHeaders().getContentType());
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+
+    @Test
+    void clientError_shouldPassThroughStatusAndBody() {
+        byte[] body = "{\"error\":\"Item not found\"}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo(SERVER_URL + "/items/404"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(body));
+
+        ResponseEntity<Object> response = client.get("/404", 7L);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+
+    @Test
+    void serverError_shouldPassThroughStatusAndBody() {
+        byte[] body = "{\"error\":\"boom\"}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo(SERVER_URL + "/items"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .contentType(MediaType.APPLICATION_JSON).body(body));
+
+        ResponseEntity<Object> response = client.post("", 7L, "{}");
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+
+    @Test
+    void emptyResponse_shouldBeRelayedWithoutBody() {
+        server.expect(requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withStatus(HttpStatus.OK));
+
+        ResponseEntity<Object> response = client.delete("/1", 7L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getBody());
+        assertNull(response.getHeaders().getContentType());
+    }
+
+    @Test
+    void noContentResponse_shouldBeRelayedWithoutBody() {
+        server.expect(requestTo(SERVER_URL + "/items/1"))
+                .andRespond(withStatus(HttpStatus.NO_CONTENT));
+
+        ResponseEntity<Object> response = client.get("/1", 7L);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void hopByHopAndFramingHeaders_shouldNotBeForwarded() {
+        byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        headers.set("Keep-Alive", "timeout=60");
+        headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        headers.set(HttpHeaders.CONTENT_LENGTH, String.valueOf(body.length));
+        headers.set(HttpHeaders.UPGRADE, "h2c");
+        server.expect(requestTo(SERVER_URL + "/items"))
+                .andRespond(withStatus(HttpStatus.OK).headers(headers).contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
+
+        ResponseEntity<Object> response = client.get("", 7L);
+
+        HttpHeaders relayed = response.getHeaders();
+        assertEquals(MediaType.APPLICATION_JSON, relayed.getContentType());
+        assertFalse(relayed.containsKey(HttpHeaders.CONNECTION));
+        assertFalse(relayed.containsKey("Keep-Alive"));
+        assertFalse(relayed.containsKey(HttpHeaders.TRANSFER_ENCODING));
+        assertFalse(relayed.containsKey(HttpHeaders.CONTENT_LENGTH));
+        assertFalse(relayed.containsKey(HttpHeaders.UPGRADE));
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+
+    private static final class TestClient extends BaseClient {
+        private TestClient(RestTemplate rest) {
+            super(rest);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ResponseCacheTest {
+    private static final String SERVER_URL = "http://shareit-server";
+
+    private static final URI URI_ALL = URI.create(SERVER_URL + "/requests/all?from=0&size=10");
+
+    private ResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseCache(Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_shouldKeepEntriesOfDifferentSharersApart() {
+        CountingLoader loader = new CountingLoader(HttpStatus.OK);
+
+        cache.get("requests", "requests.all", URI_ALL, 1L, loader);
+        cache.get("requests", "requests.all", URI_ALL, 2L, loader);
+        cache.get("requests", "requests.all", URI_ALL, 1L, loader);
+        cache.get("requests", "requests.all", URI_ALL, 2L, loader);
+        cache.get("requests", "requests.all", URI_ALL, null, loader);
+
+        assertEquals(3, loader.calls.get());
+    }
+
+    @Test
+    void get_shouldNotCacheUnsuccessfulResponses() {
+        CountingLoader loader = new CountingLoader(HttpStatus.NOT_FOUND);
+
+        cache.get("requests", "requests.all", URI_ALL, 1L, loader);
+        cache.get("requests", "requests.all", URI_ALL, 1L, loader);
+
+        assertEquals(2, loader.calls.get());
+    }
+
+    @Test
+    void get_whenResourceInvalidatedWhileLoading_shouldNotStoreResponse() {
+        CountingLoader loader = new CountingLoader(HttpStatus.OK);
+
+        ResponseEntity<Object> response = cache.get("requests", "requests.all", URI_ALL, 1L, () -> {
+            ResponseEntity<Object> loaded = loader.get();
+            cache.invalidate(Set.of("requests"));
+            return loaded;
+        });
+        cache.get("requests", "requests.all", URI_ALL, 1L, loader);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, loader.calls.get());
+    }
+
+    @Test
+    void get_whenOtherResourceInvalidatedWhileLoading_shouldStoreResponse() {
+        CountingLoader loader = new CountingLoader(HttpStatus.OK);
+
+        cache.get("requests", "requests.all", URI_ALL, 1L, () -> {
+            ResponseEntity<Object> loaded = loader.get();
+            cache.invalidate(Set.of("items"));
+            return loaded;
+        });
+        cache.get("requests", "requests.all", URI_ALL, 1L, loader);
+
+        assertEquals(1, loader.calls.get());
+    }
+
+    @Test
+    void invalidate_shouldDropOnlyListedResources() {
+        URI search = URI.create(SERVER_URL + "/items/search?text=drill&from=0&size=10");
+        CountingLoader requests = new CountingLoader(HttpStatus.OK);
+        CountingLoader items = new CountingLoader(HttpStatus.OK);
+        cache.get("requests", "requests.all", URI_ALL, 1L, requests);
+        cache.get("items", "items.search", search, null, items);
+
+        cache.invalidate(Set.of("items"));
+        cache.get("requests", "requests.all", URI_ALL, 1L, requests);
+        cache.get("items", "items.search", search, null, items);
+
+        assertEquals(1, requests.calls.get());
+        assertEquals(2, items.calls.get());
+    }
+
+    @Test
+    void clientWrite_shouldInvalidateCachedResponsesOfAffectedResources() {
+        MockServerRestTemplateCustomizer itemServer = new MockServerRestTemplateCustomizer();
+        MockServerRestTemplateCustomizer requestServer = new MockServerRestTemplateCustomizer();
+        ItemClient itemClient = new ItemClient(SERVER_URL, new RestTemplateBuilder(itemServer), cache,
+                new SimpleClientHttpRequestFactory());
+        ItemRequestClient requestClient = new ItemRequestClient(SERVER_URL, new RestTemplateBuilder(requestServer),
+                cache, new SimpleClientHttpRequestFactory());
+
+        MockRestServiceServer requests = requestServer.getServer();
+        requests.expect(requestTo(SERVER_URL + "/requests")).andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        requests.expect(requestTo(SERVER_URL + "/requests")).andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("[{\"id\":1}]", MediaType.APPLICATION_JSON));
+        MockRestServiceServer items = itemServer.getServer();
+        items.expect(requestTo(SERVER_URL + "/items")).andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        requestClient.getUserRequests(1L);
+        requestClient.getUserRequests(1L);
+        itemClient.createItem(2L, new ItemRequestDto());
+        ResponseEntity<Object> afterWrite = requestClient.getUserRequests(1L);
+
+        requests.verify();
+        items.verify();
+        assertEquals("[{\"id\":1}]", new String((byte[]) afterWrite.getBody()));
+    }
+
+    @Test
+    void clientWrite_whenServerRejectsIt_shouldKeepCachedResponses() {
+        MockServerRestTemplateCustomizer userServer = new MockServerRestTemplateCustomizer();
+        MockServerRestTemplateCustomizer itemServer = new MockServerRestTemplateCustomizer();
+        UserClient userClient = new UserClient(SERVER_URL, new RestTemplateBuilder(userServer), cache,
+                new SimpleClientHttpRequestFactory());
+        ItemClient itemClient = new ItemClient(SERVER_URL, new RestTemplateBuilder(itemServer), cache,
+                new SimpleClientHttpRequestFactory());
+
+        MockRestServiceServer items = itemServer.getServer();
+        items.expect(requestTo(SERVER_URL + "/items/search?text=drill&from=0&size=10"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        MockRestServiceServer users = userServer.getServer();
+        users.expect(requestTo(SERVER_URL + "/users")).andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.CONFLICT));
+
+        itemClient.searchItems("drill", 0, 10);
+        userClient.createUser(new UserRequestDto());
+        itemClient.searchItems("drill", 0, 10);
+
+        items.verify();
+        users.verify();
+    }
+
+    private static final class CountingLoader implements Supplier<ResponseEntity<Object>> {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private final HttpStatus status;
+
+        private CountingLoader(HttpStatus status) {
+            this.status = status;
+        }
+
+        @Override
+        public ResponseEntity<Object> get() {
+            return ResponseEntity.status(status).body(new byte[]{(byte) calls.incrementAndGet()});
+        }
+    }
+}
@@ -2,8 +2,10 @@ package ru.practicum.shareit;
 
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ShareItServer {
     public static void main(String[] args) {
         new SpringApplicationBuilder(ShareItServer.class)
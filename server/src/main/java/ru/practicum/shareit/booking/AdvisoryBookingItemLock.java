@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Takes a PostgreSQL transaction-scoped advisory lock keyed by item id, so bookings of the same item are
+ * serialized across every server instance and the lock is released by the commit itself.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.item-lock", havingValue = "advisory")
+public class AdvisoryBookingItemLock implements BookingItemLock {
+    private final TransactionTemplate transactionTemplate;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public <T> T withItemLock(Long itemId, Supplier<T> action) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> {
+            }, itemId);
+            return action.get();
+        });
+    }
+}
@@ -0,0 +1,178 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of approved booking intervals per item. Changes made inside a transaction are applied only
+ * once it commits, so a rolled-back approval or rejection never leaks into the index. Bookings that have ended
+ * are pruned periodically, since new bookings always start in the future and can never overlap them.
+ */
+@Component
+@Slf4j
+public class BookingAvailabilityIndex {
+    private final BookingRepository bookingRepository;
+
+    private final boolean enabled;
+
+    private final Map<Long, ItemIntervals> intervalsByItem = new ConcurrentHashMap<>();
+
+    private volatile boolean warm;
+
+    public BookingAvailabilityIndex(BookingRepository bookingRepository,
+                                    @Value("${shareit.booking.availability-index.enabled:false}") boolean enabled) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        List<BookingInterval> intervals = bookingRepository.findIntervalsByStatusAndEndFrom(
+                BookingStatus.APPROVED, LocalDateTime.now());
+        intervals.forEach(this::add);
+        warm = true;
+        log.info("Booking availability index warmed with {} approved bookings", intervals.size());
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.availability-index.prune-interval:PT1H}",
+            initialDelayString = "${shareit.booking.availability-index.prune-interval:PT1H}")
+    public void prune() {
+        prune(LocalDateTime.now());
+    }
+
+    void prune(LocalDateTime now) {
+        if (!enabled) {
+            return;
+        }
+        for (Long itemId : intervalsByItem.keySet()) {
+            intervalsByItem.computeIfPresent(itemId, (id, intervals) -> intervals.prune(now) ? null : intervals);
+        }
+    }
+
+    int size() {
+        return intervalsByItem.size();
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public boolean hasOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals intervals = intervalsByItem.get(itemId);
+        return intervals != null && intervals.overlaps(start, end);
+    }
+
+    public void add(Booking booking) {
+        BookingInterval interval = new BookingInterval(
+                booking.getId(), booking.getItem().getId(), booking.getStart(), booking.getEnd());
+        afterCommit(() -> add(interval));
+    }
+
+    public void remove(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Long bookingId = booking.getId();
+        afterCommit(() -> {
+            ItemIntervals intervals = intervalsByItem.get(itemId);
+            if (intervals != null) {
+                intervals.remove(bookingId);
+            }
+        });
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private void add(BookingInterval interval) {
+        if (!enabled) {
+            return;
+        }
+        intervalsByItem.compute(interval.getItemId(), (id, intervals) -> {
+            ItemIntervals result = intervals == null ? new ItemIntervals() : intervals;
+            result.add(interval.getBookingId(), interval.getStart(), interval.getEnd());
+            return result;
+        });
+    }
+
+    private static class ItemIntervals {
+        private final Map<Long, LocalDateTime[]> bookings = new HashMap<>();
+
+        private final NavigableMap<LocalDateTime, LocalDateTime> segments = new TreeMap<>();
+
+        synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> candidate = segments.floorEntry(end);
+            return candidate != null && !candidate.getValue().isBefore(start);
+        }
+
+        synchronized void add(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            if (bookings.put(bookingId, new LocalDateTime[]{start, end}) == null) {
+                merge(start, end);
+            }
+        }
+
+        synchronized void remove(Long bookingId) {
+            if (bookings.remove(bookingId) != null) {
+                segments.clear();
+                bookings.values().forEach(range -> merge(range[0], range[1]));
+            }
+        }
+
+        /**
+         * Drops bookings and segments that ended before {@code now}. Merged segments are disjoint, so ordered by
+         * start they are also ordered by end, and the ended ones are a prefix of the map.
+         *
+         * @return whether the item has no bookings left
+         */
+        synchronized boolean prune(LocalDateTime now) {
+            bookings.values().removeIf(range -> range[1].isBefore(now));
+            Map.Entry<LocalDateTime, LocalDateTime> first = segments.firstEntry();
+            while (first != null && first.getValue().isBefore(now)) {
+                segments.pollFirstEntry();
+                first = segments.firstEntry();
+            }
+            return bookings.isEmpty();
+        }
+
+        private void merge(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> floor = segments.floorEntry(start);
+            if (floor != null && !floor.getValue().isBefore(start)) {
+                start = floor.getKey();
+                end = floor.getValue().isAfter(end) ? floor.getValue() : end;
+                segments.remove(floor.getKey());
+            }
+            Map.Entry<LocalDateTime, LocalDateTime> next = segments.ceilingEntry(start);
+            while (next != null && !next.getKey().isAfter(end)) {
+                end = next.getValue().isAfter(end) ? next.getValue() : end;
+                segments.remove(next.getKey());
+                next = segments.ceilingEntry(start);
+            }
+            segments.put(start, end);
+        }
+    }
+}
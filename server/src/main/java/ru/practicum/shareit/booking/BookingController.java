@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -22,7 +23,9 @@ import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -71,7 +74,10 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-            @Positive @RequestParam(defaultValue = "10") Integer size) {
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime cursorStart,
+            @RequestParam(required = false) Long cursorId) {
 
         try {
             BookingState.valueOf(state);
@@ -79,18 +85,37 @@ public class BookingController {
             throw new ValidationException("Unknown state: " + state);
         }
 
-        return bookingService.getUserBookings(userId, state, from, size).stream()
+        List<BookingView> bookings = cursorStart == null && cursorId == null
+                ? bookingService.getUserBookings(userId, state, from, size)
+                : bookingService.getUserBookings(userId, state, cursorStart, cursorId, size);
+        return bookings.stream()
                 .map(bookingMapper::toResponseDto)
                 .collect(Collectors.toList());
     }
 
+    @GetMapping("/summary")
+    public Map<BookingState, Long> getUserBookingSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getUserBookingSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public Map<BookingState, Long> getOwnerBookingSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getOwnerBookingSummary(userId);
+    }
+
     @GetMapping("/owner")
     public List<BookingResponseDto> getOwnerBookings(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-            @Positive @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.getOwnerBookings(userId, state, from, size).stream()
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime cursorStart,
+            @RequestParam(required = false) Long cursorId) {
+        List<BookingView> bookings = cursorStart == null && cursorId == null
+                ? bookingService.getOwnerBookings(userId, state, from, size)
+                : bookingService.getOwnerBookings(userId, state, cursorStart, cursorId, size);
+        return bookings.stream()
                 .map(bookingMapper::toResponseDto)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking;
+
+import java.util.function.Supplier;
+
+/**
+ * Serializes the overlap check and the write that depends on it for bookings of one item. The action joins
+ * the caller's transaction, or starts one, and the lock is held until that transaction completes.
+ */
+public interface BookingItemLock {
+    <T> T withItemLock(Long itemId, Supplier<T> action);
+}
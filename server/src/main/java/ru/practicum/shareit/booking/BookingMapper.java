@@ -42,4 +42,24 @@ public class BookingMapper {
 
         return dto;
     }
-}
\ No newline at end of file
+
+    public BookingResponseDto toResponseDto(BookingView view) {
+        BookingResponseDto dto = new BookingResponseDto();
+        dto.setId(view.getId());
+        dto.setStart(view.getStart());
+        dto.setEnd(view.getEnd());
+        dto.setStatus(view.getStatus());
+
+        UserDto bookerDto = new UserDto();
+        bookerDto.setId(view.getBookerId());
+        bookerDto.setName(view.getBookerName());
+        dto.setBooker(bookerDto);
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(view.getItemId());
+        itemDto.setName(view.getItemName());
+        dto.setItem(itemDto);
+
+        return dto;
+    }
+}
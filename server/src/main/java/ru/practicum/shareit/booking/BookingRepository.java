@@ -1,27 +1,62 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    String BOOKING_VIEW = "SELECT new ru.practicum.shareit.booking.BookingView(" +
+            "b.id, b.start, b.end, b.status, u.id, u.name, i.id, i.name) " +
+            "FROM Booking b JOIN b.booker u JOIN b.item i ";
+
+    String BEFORE_CURSOR = "AND (b.start, b.id) < (:cursorStart, :cursorId) ";
+
+    String STATE_COUNTS = "COUNT(b), " +
+            "SUM(CASE WHEN b.start < :now AND b.end > :now THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.end < :now THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.start > :now THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.status = 'WAITING' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.status = 'REJECTED' THEN 1 ELSE 0 END)) ";
+
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long id);
+
+    Optional<Booking> findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
+            Long itemId, BookingStatus status, LocalDateTime now);
+
+    Optional<Booking> findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+            Long itemId, BookingStatus status, LocalDateTime now);
+
     @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id = :itemId " +
-            "AND b.start < :now " +
-            "AND b.status = 'APPROVED' " +
-            "ORDER BY b.start DESC")
-    List<Booking> findLastBooking(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+            "JOIN (SELECT b2.item.id AS itemId, MAX(b2.start) AS start FROM Booking b2 " +
+            "      WHERE b2.item.id IN :itemIds " +
+            "      AND b2.start < :now " +
+            "      AND b2.status = 'APPROVED' " +
+            "      GROUP BY b2.item.id) latest " +
+            "ON latest.itemId = b.item.id AND latest.start = b.start " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status = 'APPROVED'")
+    List<Booking> findLastBookings(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
 
     @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id = :itemId " +
-            "AND b.start > :now " +
-            "AND b.status = 'APPROVED' " +
-            "ORDER BY b.start ASC")
-    List<Booking> findNextBooking(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+            "JOIN (SELECT b2.item.id AS itemId, MIN(b2.start) AS start FROM Booking b2 " +
+            "      WHERE b2.item.id IN :itemIds " +
+            "      AND b2.start > :now " +
+            "      AND b2.status = 'APPROVED' " +
+            "      GROUP BY b2.item.id) earliest " +
+            "ON earliest.itemId = b.item.id AND earliest.start = b.start " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status = 'APPROVED'")
+    List<Booking> findNextBookings(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
 
     @Query("SELECT COUNT(b) > 0 FROM Booking b " +
             "WHERE b.item.id = :itemId " +
@@ -32,33 +67,121 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("bookerId") Long bookerId,
             @Param("now") LocalDateTime now);
 
-    List<Booking> findByBookerId(Long bookerId, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE u.id = :bookerId")
+    List<BookingView> findViewsByBookerId(@Param("bookerId") Long bookerId,
+                                          Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE u.id = :bookerId " + BEFORE_CURSOR)
+    List<BookingView> findViewsByBookerIdBeforeCursor(@Param("bookerId") Long bookerId,
+                                                      @Param("cursorStart") LocalDateTime cursorStart,
+                                                      @Param("cursorId") Long cursorId,
+                                                      Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE u.id = :bookerId AND b.start < :now AND b.end > :now")
+    List<BookingView> findCurrentViewsByBookerId(@Param("bookerId") Long bookerId,
+                                                 @Param("now") LocalDateTime now,
+                                                 Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE u.id = :bookerId AND b.start < :now AND b.end > :now " + BEFORE_CURSOR)
+    List<BookingView> findCurrentViewsByBookerIdBeforeCursor(@Param("bookerId") Long bookerId,
+                                                             @Param("now") LocalDateTime now,
+                                                             @Param("cursorStart") LocalDateTime cursorStart,
+                                                             @Param("cursorId") Long cursorId,
+                                                             Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE u.id = :bookerId AND b.end < :now")
+    List<BookingView> findPastViewsByBookerId(@Param("bookerId") Long bookerId,
+                                              @Param("now") LocalDateTime now,
+                                              Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE u.id = :bookerId AND b.end < :now " + BEFORE_CURSOR)
+    List<BookingView> findPastViewsByBookerIdBeforeCursor(@Param("bookerId") Long bookerId,
+                                                          @Param("now") LocalDateTime now,
+                                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                                          @Param("cursorId") Long cursorId,
+                                                          Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE u.id = :bookerId AND b.start > :now")
+    List<BookingView> findFutureViewsByBookerId(@Param("bookerId") Long bookerId,
+                                                @Param("now") LocalDateTime now,
+                                                Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE u.id = :bookerId AND b.start > :now " + BEFORE_CURSOR)
+    List<BookingView> findFutureViewsByBookerIdBeforeCursor(@Param("bookerId") Long bookerId,
+                                                            @Param("now") LocalDateTime now,
+                                                            @Param("cursorStart") LocalDateTime cursorStart,
+                                                            @Param("cursorId") Long cursorId,
+                                                            Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE u.id = :bookerId AND b.status = :status")
+    List<BookingView> findViewsByBookerIdAndStatus(@Param("bookerId") Long bookerId,
+                                                   @Param("status") BookingStatus status,
+                                                   Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE u.id = :bookerId AND b.status = :status " + BEFORE_CURSOR)
+    List<BookingView> findViewsByBookerIdAndStatusBeforeCursor(@Param("bookerId") Long bookerId,
+                                                               @Param("status") BookingStatus status,
+                                                               @Param("cursorStart") LocalDateTime cursorStart,
+                                                               @Param("cursorId") Long cursorId,
+                                                               Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = :ownerId")
+    List<BookingView> findViewsByOwnerId(@Param("ownerId") Long ownerId,
+                                         Pageable pageable);
 
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfter(
-            Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = :ownerId " + BEFORE_CURSOR)
+    List<BookingView> findViewsByOwnerIdBeforeCursor(@Param("ownerId") Long ownerId,
+                                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                                     @Param("cursorId") Long cursorId,
+                                                     Pageable pageable);
 
-    List<Booking> findByBookerIdAndEndBefore(
-            Long bookerId, LocalDateTime end, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = :ownerId AND b.start < :now AND b.end > :now")
+    List<BookingView> findCurrentViewsByOwnerId(@Param("ownerId") Long ownerId,
+                                                @Param("now") LocalDateTime now,
+                                                Pageable pageable);
 
-    List<Booking> findByBookerIdAndStartAfter(
-            Long bookerId, LocalDateTime start, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = :ownerId AND b.start < :now AND b.end > :now " + BEFORE_CURSOR)
+    List<BookingView> findCurrentViewsByOwnerIdBeforeCursor(@Param("ownerId") Long ownerId,
+                                                            @Param("now") LocalDateTime now,
+                                                            @Param("cursorStart") LocalDateTime cursorStart,
+                                                            @Param("cursorId") Long cursorId,
+                                                            Pageable pageable);
 
-    List<Booking> findByBookerIdAndStatus(
-            Long bookerId, BookingStatus status, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = :ownerId AND b.end < :now")
+    List<BookingView> findPastViewsByOwnerId(@Param("ownerId") Long ownerId,
+                                             @Param("now") LocalDateTime now,
+                                             Pageable pageable);
 
-    List<Booking> findByItemOwnerId(Long ownerId, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = :ownerId AND b.end < :now " + BEFORE_CURSOR)
+    List<BookingView> findPastViewsByOwnerIdBeforeCursor(@Param("ownerId") Long ownerId,
+                                                         @Param("now") LocalDateTime now,
+                                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                                         @Param("cursorId") Long cursorId,
+                                                         Pageable pageable);
 
-    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfter(
-            Long ownerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = :ownerId AND b.start > :now")
+    List<BookingView> findFutureViewsByOwnerId(@Param("ownerId") Long ownerId,
+                                               @Param("now") LocalDateTime now,
+                                               Pageable pageable);
 
-    List<Booking> findByItemOwnerIdAndEndBefore(
-            Long ownerId, LocalDateTime end, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = :ownerId AND b.start > :now " + BEFORE_CURSOR)
+    List<BookingView> findFutureViewsByOwnerIdBeforeCursor(@Param("ownerId") Long ownerId,
+                                                           @Param("now") LocalDateTime now,
+                                                           @Param("cursorStart") LocalDateTime cursorStart,
+                                                           @Param("cursorId") Long cursorId,
+                                                           Pageable pageable);
 
-    List<Booking> findByItemOwnerIdAndStartAfter(
-            Long ownerId, LocalDateTime start, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = :ownerId AND b.status = :status")
+    List<BookingView> findViewsByOwnerIdAndStatus(@Param("ownerId") Long ownerId,
+                                                  @Param("status") BookingStatus status,
+                                                  Pageable pageable);
 
-    List<Booking> findByItemOwnerIdAndStatus(
-            Long ownerId, BookingStatus status, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = :ownerId AND b.status = :status " + BEFORE_CURSOR)
+    List<BookingView> findViewsByOwnerIdAndStatusBeforeCursor(@Param("ownerId") Long ownerId,
+                                                              @Param("status") BookingStatus status,
+                                                              @Param("cursorStart") LocalDateTime cursorStart,
+                                                              @Param("cursorId") Long cursorId,
+                                                              Pageable pageable);
 
     @Query("SELECT COUNT(b) > 0 FROM Booking b " +
             "WHERE b.item.id = :itemId " +
@@ -70,4 +193,74 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("itemId") Long itemId,
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
-}
\ No newline at end of file
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.id <> :bookingId " +
+            "AND b.status = 'APPROVED' " +
+            "AND ((b.start BETWEEN :start AND :end) OR " +
+            "     (b.end BETWEEN :start AND :end) OR " +
+            "     (b.start <= :start AND b.end >= :end))")
+    boolean existsOtherByItemIdAndTimeRange(
+            @Param("itemId") Long itemId,
+            @Param("bookingId") Long bookingId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    /**
+     * Moves a booking out of WAITING. Returns 0 when the booking has already been approved or rejected, which the
+     * row lock taken by the update makes reliable even when the caller read the booking before that happened.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id = :id AND b.status = 'WAITING'")
+    int updateStatusIfWaiting(@Param("id") Long id, @Param("status") BookingStatus status);
+
+    @Query("SELECT new ru.practicum.shareit.booking.BookingInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b " +
+            "WHERE b.status = :status " +
+            "AND b.end >= :from")
+    List<BookingInterval> findIntervalsByStatusAndEndFrom(@Param("status") BookingStatus status,
+                                                          @Param("from") LocalDateTime from);
+
+    @Query("SELECT new ru.practicum.shareit.booking.BookingStateCounts(b.booker.id, " + STATE_COUNTS +
+            "FROM Booking b " +
+            "GROUP BY b.booker.id")
+    List<BookingStateCounts> countStatesByBooker(@Param("now") LocalDateTime now);
+
+    @Query("SELECT new ru.practicum.shareit.booking.BookingStateCounts(b.booker.id, " + STATE_COUNTS +
+            "FROM Booking b " +
+            "WHERE b.booker.id IN :bookerIds " +
+            "GROUP BY b.booker.id")
+    List<BookingStateCounts> countStatesByBookerIds(@Param("bookerIds") Collection<Long> bookerIds,
+                                                    @Param("now") LocalDateTime now);
+
+    @Query("SELECT new ru.practicum.shareit.booking.BookingStateCounts(b.item.owner.id, " + STATE_COUNTS +
+            "FROM Booking b " +
+            "GROUP BY b.item.owner.id")
+    List<BookingStateCounts> countStatesByOwner(@Param("now") LocalDateTime now);
+
+    @Query("SELECT new ru.practicum.shareit.booking.BookingStateCounts(b.item.owner.id, " + STATE_COUNTS +
+            "FROM Booking b " +
+            "WHERE b.item.owner.id IN :ownerIds " +
+            "GROUP BY b.item.owner.id")
+    List<BookingStateCounts> countStatesByOwnerIds(@Param("ownerIds") Collection<Long> ownerIds,
+                                                   @Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT b.booker.id FROM Booking b")
+    List<Long> findBookerIds();
+
+    @Query("SELECT DISTINCT b.item.owner.id FROM Booking b")
+    List<Long> findOwnerIds();
+
+    @Query("SELECT DISTINCT b.booker.id FROM Booking b " +
+            "WHERE b.start BETWEEN :from AND :to " +
+            "OR b.end BETWEEN :from AND :to")
+    List<Long> findBookerIdsWithStartOrEndBetween(@Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+
+    @Query("SELECT DISTINCT b.item.owner.id FROM Booking b " +
+            "WHERE b.start BETWEEN :from AND :to " +
+            "OR b.end BETWEEN :from AND :to")
+    List<Long> findOwnerIdsWithStartOrEndBetween(@Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+}
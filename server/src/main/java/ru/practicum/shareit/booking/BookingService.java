@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface BookingService {
     Booking addBooking(Booking booking, Long userId);
@@ -9,9 +11,17 @@ public interface BookingService {
 
     Booking getBooking(Long bookingId, Long userId);
 
-    List<Booking> getUserBookings(Long userId, String state, Integer from, Integer size);
+    List<BookingView> getUserBookings(Long userId, String state, Integer from, Integer size);
 
-    List<Booking> getOwnerBookings(Long userId, String state, Integer from, Integer size);
+    List<BookingView> getOwnerBookings(Long userId, String state, Integer from, Integer size);
+
+    List<BookingView> getUserBookings(Long userId, String state, LocalDateTime cursorStart, Long cursorId, Integer size);
+
+    List<BookingView> getOwnerBookings(Long userId, String state, LocalDateTime cursorStart, Long cursorId, Integer size);
+
+    Map<BookingState, Long> getUserBookingSummary(Long userId);
+
+    Map<BookingState, Long> getOwnerBookingSummary(Long userId);
 
     void validateBookingDates(Booking booking);
 }
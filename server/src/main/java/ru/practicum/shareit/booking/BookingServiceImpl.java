@@ -2,31 +2,46 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.ReplicaRead;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
-import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final Sort BOOKING_ORDER = Sort.by(Sort.Direction.DESC, "start", "id");
+
     private final BookingRepository bookingRepository;
 
     private final UserService userService;
 
-    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+
+    private final BookingAvailabilityIndex availabilityIndex;
+
+    private final BookingStateCounters stateCounters;
+
+    private final BookingItemLock itemLock;
 
     @Override
+    @Transactional
     public Booking addBooking(Booking booking, Long userId) {
         User booker = userService.getUser(userId);
-        Item item = itemService.getItem(booking.getItem().getId(), userId);
+        Item item = itemRepository.findById(booking.getItem().getId())
+                .orElseThrow(() -> new NotFoundException("Item not found"));
 
         if (!item.getAvailable()) {
             throw new ValidationException("Item is not available for booking");
@@ -36,23 +51,24 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Owner cannot book own item");
         }
 
-        if (bookingRepository.existsByItemIdAndTimeRange(
-                booking.getItem().getId(),
-                booking.getStart(),
-                booking.getEnd())) {
-            throw new ValidationException("Item is already booked for this time period");
-        }
-
         validateBookingDates(booking);
 
         booking.setBooker(booker);
         booking.setItem(item);
         booking.setStatus(BookingStatus.WAITING);
 
-        return bookingRepository.save(booking);
+        Booking savedBooking = itemLock.withItemLock(item.getId(), () -> {
+            if (isBooked(item.getId(), booking.getStart(), booking.getEnd())) {
+                throw new ValidationException("Item is already booked for this time period");
+            }
+            return bookingRepository.save(booking);
+        });
+        stateCounters.onCreated(savedBooking);
+        return savedBooking;
     }
 
     @Override
+    @Transactional
     public Booking approveBooking(Long bookingId, Long userId, boolean approved) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking not found"));
@@ -61,12 +77,28 @@ public class BookingServiceImpl implements BookingService {
             throw new ForbiddenException("Only owner can approve booking");
         }
 
-        if (booking.getStatus() != BookingStatus.WAITING) {
-            throw new ValidationException("Booking already approved/rejected");
+        Long itemId = booking.getItem().getId();
+        Booking savedBooking = itemLock.withItemLock(itemId, () -> {
+            if (approved && bookingRepository.existsOtherByItemIdAndTimeRange(itemId, bookingId,
+                    booking.getStart(), booking.getEnd())) {
+                throw new ValidationException("Item is already booked for this time period");
+            }
+            BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+            if (bookingRepository.updateStatusIfWaiting(bookingId, status) == 0) {
+                throw new ValidationException("Booking already approved/rejected");
+            }
+            return bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new NotFoundException("Booking not found"));
+        });
+
+        if (savedBooking.getStatus() == BookingStatus.APPROVED) {
+            availabilityIndex.add(savedBooking);
+        } else {
+            availabilityIndex.remove(savedBooking);
         }
+        stateCounters.onStatusChanged(savedBooking, BookingStatus.WAITING);
 
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return bookingRepository.save(booking);
+        return savedBooking;
     }
 
     @Override
@@ -82,65 +114,134 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<Booking> getUserBookings(Long userId, String state, Integer from, Integer size) {
+    @ReplicaRead
+    public List<BookingView> getUserBookings(Long userId, String state, Integer from, Integer size) {
+        return findUserBookings(userId, state, null, null, PageRequest.of(from / size, size, BOOKING_ORDER));
+    }
+
+    @Override
+    @ReplicaRead
+    public List<BookingView> getOwnerBookings(Long userId, String state, Integer from, Integer size) {
+        return findOwnerBookings(userId, state, null, null, PageRequest.of(from / size, size, BOOKING_ORDER));
+    }
+
+    @Override
+    @ReplicaRead
+    public List<BookingView> getUserBookings(Long userId, String state, LocalDateTime cursorStart, Long cursorId,
+                                             Integer size) {
+        validateCursor(cursorStart, cursorId);
+        return findUserBookings(userId, state, cursorStart, cursorId, PageRequest.of(0, size, BOOKING_ORDER));
+    }
+
+    @Override
+    @ReplicaRead
+    public List<BookingView> getOwnerBookings(Long userId, String state, LocalDateTime cursorStart, Long cursorId,
+                                              Integer size) {
+        validateCursor(cursorStart, cursorId);
+        return findOwnerBookings(userId, state, cursorStart, cursorId, PageRequest.of(0, size, BOOKING_ORDER));
+    }
+
+    @Override
+    public Map<BookingState, Long> getUserBookingSummary(Long userId) {
+        userService.getUser(userId);
+        return stateCounters.getSummary(userId, BookingStateCounter.Role.BOOKER);
+    }
+
+    @Override
+    public Map<BookingState, Long> getOwnerBookingSummary(Long userId) {
+        userService.getUser(userId);
+        return stateCounters.getSummary(userId, BookingStateCounter.Role.OWNER);
+    }
+
+    private List<BookingView> findUserBookings(Long userId, String state, LocalDateTime cursorStart, Long cursorId,
+                                               Pageable page) {
         userService.getUser(userId);
         LocalDateTime now = LocalDateTime.now();
-        PageRequest page = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC,
-                "start"));
+        boolean seek = cursorStart != null;
 
         switch (state) {
             case "ALL":
-                return bookingRepository.findByBookerId(userId, page);
+                return seek
+                        ? bookingRepository.findViewsByBookerIdBeforeCursor(userId, cursorStart, cursorId, page)
+                        : bookingRepository.findViewsByBookerId(userId, page);
             case "CURRENT":
-                return bookingRepository.findByBookerIdAndStartBeforeAndEndAfter(
-                        userId, now, now, page);
+                return seek
+                        ? bookingRepository.findCurrentViewsByBookerIdBeforeCursor(
+                                userId, now, cursorStart, cursorId, page)
+                        : bookingRepository.findCurrentViewsByBookerId(userId, now, page);
             case "PAST":
-                return bookingRepository.findByBookerIdAndEndBefore(
-                        userId, now, page);
+                return seek
+                        ? bookingRepository.findPastViewsByBookerIdBeforeCursor(
+                                userId, now, cursorStart, cursorId, page)
+                        : bookingRepository.findPastViewsByBookerId(userId, now, page);
             case "FUTURE":
-                return bookingRepository.findByBookerIdAndStartAfter(
-                        userId, now, page);
+                return seek
+                        ? bookingRepository.findFutureViewsByBookerIdBeforeCursor(
+                                userId, now, cursorStart, cursorId, page)
+                        : bookingRepository.findFutureViewsByBookerId(userId, now, page);
             case "WAITING":
-                return bookingRepository.findByBookerIdAndStatus(
-                        userId, BookingStatus.WAITING, page);
             case "REJECTED":
-                return bookingRepository.findByBookerIdAndStatus(
-                        userId, BookingStatus.REJECTED, page);
+                BookingStatus status = BookingStatus.valueOf(state);
+                return seek
+                        ? bookingRepository.findViewsByBookerIdAndStatusBeforeCursor(
+                                userId, status, cursorStart, cursorId, page)
+                        : bookingRepository.findViewsByBookerIdAndStatus(userId, status, page);
             default:
                 throw new ValidationException("Unknown state: " + state);
         }
     }
 
-    @Override
-    public List<Booking> getOwnerBookings(Long userId, String state, Integer from, Integer size) {
+    private List<BookingView> findOwnerBookings(Long userId, String state, LocalDateTime cursorStart, Long cursorId,
+                                                Pageable page) {
         userService.getUser(userId);
         LocalDateTime now = LocalDateTime.now();
-        PageRequest page = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC,
-                "start"));
+        boolean seek = cursorStart != null;
 
         switch (state) {
             case "ALL":
-                return bookingRepository.findByItemOwnerId(userId, page);
+                return seek
+                        ? bookingRepository.findViewsByOwnerIdBeforeCursor(userId, cursorStart, cursorId, page)
+                        : bookingRepository.findViewsByOwnerId(userId, page);
             case "CURRENT":
-                return bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfter(
-                        userId, now, now, page);
+                return seek
+                        ? bookingRepository.findCurrentViewsByOwnerIdBeforeCursor(
+                                userId, now, cursorStart, cursorId, page)
+                        : bookingRepository.findCurrentViewsByOwnerId(userId, now, page);
             case "PAST":
-                return bookingRepository.findByItemOwnerIdAndEndBefore(
-                        userId, now, page);
+                return seek
+                        ? bookingRepository.findPastViewsByOwnerIdBeforeCursor(
+                                userId, now, cursorStart, cursorId, page)
+                        : bookingRepository.findPastViewsByOwnerId(userId, now, page);
             case "FUTURE":
-                return bookingRepository.findByItemOwnerIdAndStartAfter(
-                        userId, now, page);
+                return seek
+                        ? bookingRepository.findFutureViewsByOwnerIdBeforeCursor(
+                                userId, now, cursorStart, cursorId, page)
+                        : bookingRepository.findFutureViewsByOwnerId(userId, now, page);
             case "WAITING":
-                return bookingRepository.findByItemOwnerIdAndStatus(
-                        userId, BookingStatus.WAITING, page);
             case "REJECTED":
-                return bookingRepository.findByItemOwnerIdAndStatus(
-                        userId, BookingStatus.REJECTED, page);
+                BookingStatus status = BookingStatus.valueOf(state);
+                return seek
+                        ? bookingRepository.findViewsByOwnerIdAndStatusBeforeCursor(
+                                userId, status, cursorStart, cursorId, page)
+                        : bookingRepository.findViewsByOwnerIdAndStatus(userId, status, page);
             default:
                 throw new ValidationException("Unknown state: " + state);
         }
     }
 
+    private void validateCursor(LocalDateTime cursorStart, Long cursorId) {
+        if ((cursorStart == null) != (cursorId == null)) {
+            throw new ValidationException("cursorStart and cursorId must be specified together");
+        }
+    }
+
+    private boolean isBooked(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (availabilityIndex.isWarm()) {
+            return availabilityIndex.hasOverlap(itemId, start, end);
+        }
+        return bookingRepository.existsByItemIdAndTimeRange(itemId, start, end);
+    }
+
     @Override
     public void validateBookingDates(Booking booking) {
         if (booking.getStart() == null || booking.getEnd() == null) {
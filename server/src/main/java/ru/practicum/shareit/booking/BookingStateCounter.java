@@ -0,0 +1,55 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Entity
+@Table(name = "booking_state_counters")
+@IdClass(BookingStateCounter.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStateCounter {
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role", nullable = false)
+    private Role role;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false)
+    private BookingState state;
+
+    @Column(name = "total", nullable = false)
+    private Long total;
+
+    public enum Role {
+        BOOKER,
+        OWNER
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+
+        private Role role;
+
+        private BookingState state;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The single row recording up to which moment {@link BookingStateCounters} have been rolled forward. A null
+ * {@code rolledTo} means the counters have never been built.
+ */
+@Entity
+@Table(name = "booking_state_counter_checkpoint")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStateCounterCheckpoint {
+    public static final Integer ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "rolled_to")
+    private LocalDateTime rolledTo;
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface BookingStateCounterCheckpointRepository
+        extends JpaRepository<BookingStateCounterCheckpoint, Integer> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM BookingStateCounterCheckpoint c WHERE c.id = :id")
+    Optional<BookingStateCounterCheckpoint> lockById(@Param("id") Integer id);
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingStateCounterRepository
+        extends JpaRepository<BookingStateCounter, BookingStateCounter.Key> {
+    @Query("SELECT new ru.practicum.shareit.booking.BookingStateTotal(c.state, c.total) " +
+            "FROM BookingStateCounter c " +
+            "WHERE c.userId = :userId " +
+            "AND c.role = :role")
+    List<BookingStateTotal> findTotals(@Param("userId") Long userId,
+                                       @Param("role") BookingStateCounter.Role role);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM BookingStateCounter c " +
+            "WHERE c.role = :role " +
+            "AND c.userId IN :userIds " +
+            "ORDER BY c.userId, c.state")
+    List<BookingStateCounter> lockByRoleAndUserIds(@Param("role") BookingStateCounter.Role role,
+                                                   @Param("userIds") Collection<Long> userIds);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO BookingStateCounter (userId, role, state, total) " +
+            "VALUES (:userId, :role, :state, 0) " +
+            "ON CONFLICT DO NOTHING")
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("role") BookingStateCounter.Role role,
+                       @Param("state") BookingState state);
+
+    /**
+     * Adds one to the {@code incremented} states and subtracts one from the rest of {@code changed} in a single
+     * statement, so the user's counter rows are always locked in index order.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BookingStateCounter c " +
+            "SET c.total = c.total + CASE WHEN c.state IN :incremented THEN 1 ELSE -1 END " +
+            "WHERE c.userId = :userId " +
+            "AND c.role = :role " +
+            "AND c.state IN :changed")
+    int adjust(@Param("userId") Long userId,
+               @Param("role") BookingStateCounter.Role role,
+               @Param("changed") Collection<BookingState> changed,
+               @Param("incremented") Collection<BookingState> incremented);
+}
@@ -0,0 +1,175 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingStateCounter.Role;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps per-booker and per-owner booking counts for every {@link BookingState} in the booking_state_counters
+ * table. Status-based states are adjusted as bookings are created and approved; time-based states drift as
+ * bookings start and end, so {@link #rollForward()} periodically recomputes the users whose bookings crossed
+ * a start or end since the checkpoint stored in booking_state_counter_checkpoint.
+ * <p>
+ * Recomputation locks the affected counter rows before counting, so an adjustment made by a concurrent booking
+ * either commits before the count sees its booking or waits and lands on top of the recomputed total. The
+ * checkpoint row is locked for the whole run, which serializes roll-forwards across every server instance.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookingStateCounters {
+    private static final int RECOMPUTE_BATCH_SIZE = 500;
+
+    private final BookingRepository bookingRepository;
+
+    private final BookingStateCounterRepository counterRepository;
+
+    private final BookingStateCounterCheckpointRepository checkpointRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${shareit.booking.state-counters.roll-forward-delay:PT1M}",
+            initialDelayString = "${shareit.booking.state-counters.roll-forward-delay:PT1M}")
+    public void rollForward() {
+        rollForward(LocalDateTime.now());
+    }
+
+    void rollForward(LocalDateTime now) {
+        transactionTemplate.executeWithoutResult(status -> {
+            BookingStateCounterCheckpoint checkpoint = lockCheckpoint();
+            LocalDateTime rolledTo = checkpoint.getRolledTo();
+            if (rolledTo == null) {
+                rebuild(checkpoint, now);
+                return;
+            }
+            if (!now.isAfter(rolledTo)) {
+                return;
+            }
+            recompute(Role.BOOKER, bookingRepository.findBookerIdsWithStartOrEndBetween(rolledTo, now), now);
+            recompute(Role.OWNER, bookingRepository.findOwnerIdsWithStartOrEndBetween(rolledTo, now), now);
+            checkpoint.setRolledTo(now);
+        });
+    }
+
+    void rebuild(LocalDateTime now) {
+        transactionTemplate.executeWithoutResult(status -> rebuild(lockCheckpoint(), now));
+    }
+
+    private void rebuild(BookingStateCounterCheckpoint checkpoint, LocalDateTime now) {
+        List<Long> bookerIds = bookingRepository.findBookerIds();
+        List<Long> ownerIds = bookingRepository.findOwnerIds();
+        recompute(Role.BOOKER, bookerIds, now);
+        recompute(Role.OWNER, ownerIds, now);
+        checkpoint.setRolledTo(now);
+        log.info("Booking state counters rebuilt for {} bookers and {} owners", bookerIds.size(), ownerIds.size());
+    }
+
+    public Map<BookingState, Long> getSummary(Long userId, Role role) {
+        Map<BookingState, Long> summary = new EnumMap<>(BookingState.class);
+        for (BookingState state : BookingState.values()) {
+            summary.put(state, 0L);
+        }
+        counterRepository.findTotals(userId, role)
+                .forEach(total -> summary.put(total.getState(), total.getTotal()));
+        return summary;
+    }
+
+    public void onCreated(Booking booking) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingState> states = new ArrayList<>();
+        states.add(BookingState.ALL);
+        states.addAll(statusStates(booking.getStatus()));
+        states.add(timeState(booking, now));
+
+        adjust(booking.getBooker().getId(), Role.BOOKER, states, states);
+        adjust(booking.getItem().getOwner().getId(), Role.OWNER, states, states);
+    }
+
+    public void onStatusChanged(Booking booking, BookingStatus previous) {
+        List<BookingState> added = statusStates(booking.getStatus());
+        List<BookingState> changed = new ArrayList<>(statusStates(previous));
+        changed.addAll(added);
+
+        adjust(booking.getBooker().getId(), Role.BOOKER, changed, added);
+        adjust(booking.getItem().getOwner().getId(), Role.OWNER, changed, added);
+    }
+
+    /**
+     * A user without counter rows gets zeroed rows first. The insert is idempotent, so concurrent first bookings
+     * of one user, on this instance or another, all end up adjusting the same rows.
+     */
+    private void adjust(Long userId, Role role, Collection<BookingState> changed,
+                        Collection<BookingState> incremented) {
+        if (changed.isEmpty() || counterRepository.adjust(userId, role, changed, incremented) > 0) {
+            return;
+        }
+        seed(userId, role);
+        counterRepository.adjust(userId, role, changed, incremented);
+    }
+
+    private void seed(Long userId, Role role) {
+        for (BookingState state : BookingState.values()) {
+            counterRepository.insertIfAbsent(userId, role, state);
+        }
+    }
+
+    private BookingStateCounterCheckpoint lockCheckpoint() {
+        return checkpointRepository.lockById(BookingStateCounterCheckpoint.ID)
+                .orElseThrow(() -> new IllegalStateException("booking_state_counter_checkpoint row is missing"));
+    }
+
+    private void recompute(Role role, List<Long> userIds, LocalDateTime now) {
+        for (int from = 0; from < userIds.size(); from += RECOMPUTE_BATCH_SIZE) {
+            recomputeBatch(role, userIds.subList(from, Math.min(from + RECOMPUTE_BATCH_SIZE, userIds.size())), now);
+        }
+    }
+
+    private void recomputeBatch(Role role, List<Long> userIds, LocalDateTime now) {
+        List<BookingStateCounter> counters = counterRepository.lockByRoleAndUserIds(role, userIds);
+        Set<Long> unseeded = new HashSet<>(userIds);
+        counters.forEach(counter -> unseeded.remove(counter.getUserId()));
+        if (!unseeded.isEmpty()) {
+            unseeded.forEach(userId -> seed(userId, role));
+            counters = counterRepository.lockByRoleAndUserIds(role, userIds);
+        }
+
+        Map<Long, Map<BookingState, Long>> counts = (role == Role.BOOKER
+                ? bookingRepository.countStatesByBookerIds(userIds, now)
+                : bookingRepository.countStatesByOwnerIds(userIds, now)).stream()
+                .collect(Collectors.toMap(BookingStateCounts::getUserId, BookingStateCounts::asMap,
+                        (first, second) -> first));
+        counters.forEach(counter -> counter.setTotal(counts.getOrDefault(counter.getUserId(), Map.of())
+                .getOrDefault(counter.getState(), 0L)));
+    }
+
+    private static List<BookingState> statusStates(BookingStatus status) {
+        return switch (status) {
+            case WAITING -> List.of(BookingState.WAITING);
+            case REJECTED -> List.of(BookingState.REJECTED);
+            default -> List.of();
+        };
+    }
+
+    private static BookingState timeState(Booking booking, LocalDateTime now) {
+        if (booking.getStart().isAfter(now)) {
+            return BookingState.FUTURE;
+        }
+        return booking.getEnd().isBefore(now) ? BookingState.PAST : BookingState.CURRENT;
+    }
+}
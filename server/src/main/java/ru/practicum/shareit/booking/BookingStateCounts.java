@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStateCounts {
+    private Long userId;
+
+    private Long all;
+
+    private Long current;
+
+    private Long past;
+
+    private Long future;
+
+    private Long waiting;
+
+    private Long rejected;
+
+    public Map<BookingState, Long> asMap() {
+        Map<BookingState, Long> counts = new EnumMap<>(BookingState.class);
+        counts.put(BookingState.ALL, all);
+        counts.put(BookingState.CURRENT, current);
+        counts.put(BookingState.PAST, past);
+        counts.put(BookingState.FUTURE, future);
+        counts.put(BookingState.WAITING, waiting);
+        counts.put(BookingState.REJECTED, rejected);
+        return counts;
+    }
+}
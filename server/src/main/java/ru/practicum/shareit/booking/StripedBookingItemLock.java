@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process lock striped by item id, for single-instance deployments and databases without advisory locks.
+ * A stripe is released when the surrounding transaction completes, mirroring a transaction-scoped advisory
+ * lock.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.item-lock", havingValue = "striped", matchIfMissing = true)
+public class StripedBookingItemLock implements BookingItemLock {
+    private static final int STRIPES = 256;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Lock[] stripes = createStripes();
+
+    @Override
+    public <T> T withItemLock(Long itemId, Supplier<T> action) {
+        Lock lock = stripes[Math.floorMod(Long.hashCode(itemId), STRIPES)];
+        return transactionTemplate.execute(status -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            });
+            lock.lock();
+            return action.get();
+        });
+    }
+
+    private static Lock[] createStripes() {
+        Lock[] stripes = new Lock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        return stripes;
+    }
+}
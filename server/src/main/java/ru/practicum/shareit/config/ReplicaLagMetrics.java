@@ -0,0 +1,44 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Publishes how far the replica trails the primary as the {@code shareit.datasource.replica.lag} gauge, in
+ * seconds. The value is {@code NaN} while the replica cannot be queried.
+ */
+@Slf4j
+public class ReplicaLagMetrics implements MeterBinder {
+    private final JdbcTemplate replicaJdbcTemplate;
+
+    private final String lagQuery;
+
+    public ReplicaLagMetrics(DataSource replica, String lagQuery) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.datasource.replica.lag", this, ReplicaLagMetrics::lagSeconds)
+                .description("Time since the last transaction replayed on the replica")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    double lagSeconds() {
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(lagQuery, Double.class);
+            return lag == null ? 0 : lag;
+        } catch (DataAccessException e) {
+            log.warn("Could not read replica lag: {}", e.getMessage());
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * JCache region factory that passes {@code hibernate.javax.cache.uri} to the caching provider as written. The
+ * stock factory first resolves it to a resource URL, which from a packaged jar is a {@code jar:} URL that Caffeine
+ * cannot read; given the bare resource name, Caffeine loads the file from the classpath itself.
+ */
+public class ResourceJCacheRegionFactory extends JCacheRegionFactory {
+    @Override
+    protected URI getUri(SessionFactoryOptions settings, Map<String, Object> properties) {
+        Object uri = properties.get(ConfigSettings.CONFIG_URI);
+        return uri == null ? super.getUri(settings, properties) : URI.create(uri.toString());
+    }
+}
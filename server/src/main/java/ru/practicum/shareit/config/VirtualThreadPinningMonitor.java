@@ -0,0 +1,75 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Watches the JFR {@code jdk.VirtualThreadPinned} event, which fires when a virtual thread blocks while it
+ * cannot unmount from its carrier, typically inside a {@code synchronized} block of a JDBC driver or pool.
+ * Pinning durations are published as the {@code jvm.threads.virtual.pinned} timer, and every distinct
+ * pinning stack is logged once.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements MeterBinder, AutoCloseable {
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 12;
+
+    private final RecordingStream stream;
+
+    private final List<Timer> timers = new CopyOnWriteArrayList<>();
+
+    private final Set<String> reportedStacks = ConcurrentHashMap.newKeySet();
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        timers.add(Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to their carrier thread")
+                .register(registry));
+    }
+
+    void onPinned(RecordedEvent event) {
+        timers.forEach(timer -> timer.record(event.getDuration()));
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        String stack = stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining("\n\tat ", "\tat ", ""));
+        if (reportedStacks.add(stack)) {
+            log.warn("Virtual thread pinned for {} ms\n{}", event.getDuration().toMillis(), stack);
+        }
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,223 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram index over item names and descriptions. Writes reach it only after their transaction commits, and
+ * the startup load fills in just the items no such write has indexed yet, so a snapshot read before a later
+ * update can never overwrite it.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "memory")
+public class InvertedIndexItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+
+    private final Map<String, LongPostingList> postings = new HashMap<>();
+
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+
+    private final LongPostingList availableIds = new LongPostingList();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean warm;
+
+    public InvertedIndexItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<Item> all = itemRepository.findAll();
+        all.forEach(item -> apply(item.getId(), toIndexed(item), true));
+        warm = true;
+        log.info("Item search index warmed with {} items", all.size());
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        if (!warm) {
+            return itemRepository.searchAvailableItems(text, pageable);
+        }
+
+        String query = text.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            long[] candidates = findCandidates(query);
+            List<Item> result = new ArrayList<>();
+            long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+            int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+            for (long id : candidates) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                IndexedItem indexed = items.get(id);
+                if (indexed.matches(query)) {
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        result.add(indexed.toItem(id));
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Item item) {
+        Long id = item.getId();
+        IndexedItem indexed = toIndexed(item);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(id, indexed, false);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(id, indexed, false);
+            }
+        });
+    }
+
+    private IndexedItem toIndexed(Item item) {
+        return new IndexedItem(item.getName(), item.getDescription(),
+                Boolean.TRUE.equals(item.getAvailable()),
+                item.getRequest() != null ? item.getRequest().getId() : null);
+    }
+
+    private void apply(Long id, IndexedItem indexed, boolean onlyIfAbsent) {
+        lock.writeLock().lock();
+        try {
+            if (onlyIfAbsent && items.containsKey(id)) {
+                return;
+            }
+            IndexedItem previous = items.put(id, indexed);
+            if (previous != null) {
+                grams(previous).forEach(gram -> removePosting(gram, id));
+            }
+            grams(indexed).forEach(gram -> postings.computeIfAbsent(gram, g -> new LongPostingList()).add(id));
+            if (indexed.available) {
+                availableIds.add(id);
+            } else {
+                availableIds.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long[] findCandidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return availableIds.toArray();
+        }
+        List<LongPostingList> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            LongPostingList posting = postings.get(query.substring(i, i + GRAM_LENGTH));
+            if (posting == null) {
+                return new long[0];
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(LongPostingList::size));
+
+        long[] candidates = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = lists.get(i).intersect(candidates, candidates.length);
+        }
+        return availableIds.intersect(candidates, candidates.length);
+    }
+
+    private void removePosting(String gram, long id) {
+        LongPostingList posting = postings.get(gram);
+        if (posting != null) {
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private Set<String> grams(IndexedItem indexed) {
+        Set<String> grams = new HashSet<>();
+        addGrams(indexed.name, grams);
+        addGrams(indexed.description, grams);
+        return grams;
+    }
+
+    private void addGrams(String text, Set<String> grams) {
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+    }
+
+    private static class IndexedItem {
+        private final String originalName;
+
+        private final String originalDescription;
+
+        private final String name;
+
+        private final String description;
+
+        private final boolean available;
+
+        private final Long requestId;
+
+        IndexedItem(String name, String description, boolean available, Long requestId) {
+            this.originalName = name;
+            this.originalDescription = description;
+            this.name = name.toLowerCase(Locale.ROOT);
+            this.description = description.toLowerCase(Locale.ROOT);
+            this.available = available;
+            this.requestId = requestId;
+        }
+
+        boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        Item toItem(Long id) {
+            Item item = new Item();
+            item.setId(id);
+            item.setName(originalName);
+            item.setDescription(originalDescription);
+            item.setAvailable(available);
+            if (requestId != null) {
+                ItemRequest request = new ItemRequest();
+                request.setId(requestId);
+                item.setRequest(request);
+            }
+            return item;
+        }
+    }
+}
@@ -66,8 +66,11 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam String text) {
-        return itemService.searchItems(text).stream()
+    public List<ItemDto> searchItems(
+            @RequestParam String text,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+            @Positive @RequestParam(defaultValue = "10") Integer size) {
+        return itemService.searchItems(text, from, size).stream()
                 .map(itemMapper::toDto)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Fills in the comments of an item and, for its owner, the last and next approved bookings. The three lookups
+ * are independent of each other.
+ */
+public interface ItemDetailsLoader {
+    void loadDetails(Item item, boolean withBookings);
+}
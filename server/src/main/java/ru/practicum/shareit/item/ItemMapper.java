@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -26,7 +27,7 @@ public class ItemMapper {
             itemDto.setRequestId(item.getRequest().getId());
         }
 
-        if (item.getComments() != null) {
+        if (item.getComments() != null && Hibernate.isInitialized(item.getComments())) {
             itemDto.setComments(item.getComments().stream()
                     .map(commentMapper::toDto)
                     .collect(Collectors.toList()));
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
@@ -15,9 +16,22 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     @Query("SELECT i FROM Item i " +
             "WHERE i.available = true " +
             "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
-    List<Item> searchAvailableItems(@Param("text") String text);
+            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
+            "ORDER BY i.id")
+    List<Item> searchAvailableItems(@Param("text") String text, Pageable pageable);
+
+    @Query(value = "SELECT * FROM items i " +
+            "WHERE i.available = true " +
+            "AND (LOWER(i.name) LIKE '%' || LOWER(:text) || '%' " +
+            "OR LOWER(i.description) LIKE '%' || LOWER(:text) || '%') " +
+            "ORDER BY GREATEST(word_similarity(LOWER(:text), LOWER(i.name)), " +
+            "word_similarity(LOWER(:text), LOWER(i.description))) DESC, i.id",
+            nativeQuery = true)
+    List<Item> searchAvailableItemsRanked(@Param("text") String text, Pageable pageable);
 
     @Query("SELECT i FROM Item i WHERE i.request.id = :requestId")
     List<Item> findAllByRequestId(@Param("requestId") Long requestId);
+
+    @Query("SELECT i FROM Item i WHERE i.request.id IN :requestIds")
+    List<Item> findAllByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
 }
\ No newline at end of file
@@ -16,5 +16,5 @@ public interface ItemService {
 
     List<Item> getUserItems(Long userId, Integer from, Integer size);
 
-    List<Item> searchItems(String text);
+    List<Item> searchItems(String text, Integer from, Integer size);
 }
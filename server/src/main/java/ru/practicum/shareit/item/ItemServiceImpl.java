@@ -2,9 +2,14 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.config.ReplicaRead;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Comment;
@@ -17,11 +22,14 @@ import ru.practicum.shareit.user.UserService;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
 
@@ -33,7 +41,15 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRequestRepository itemRequestRepository;
 
+    private final ItemSearchEngine itemSearchEngine;
+
+    private final ItemDetailsLoader itemDetailsLoader;
+
+    @Value("${shareit.item.search.max-page-size:100}")
+    private int maxSearchPageSize;
+
     @Override
+    @Transactional
     public Item addItem(Item item, Long ownerId) {
         User owner = userService.getUser(ownerId);
         item.setOwner(owner);
@@ -46,10 +62,13 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(request);
         }
 
-        return itemRepository.save(item);
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        return savedItem;
     }
 
     @Override
+    @Transactional
     public Item updateItem(Item item, Long ownerId) {
         Item existingItem = itemRepository.findById(item.getId())
                 .orElseThrow(() -> new NotFoundException("Item not found"));
@@ -70,48 +89,65 @@ public class ItemServiceImpl implements ItemService {
             existingItem.setAvailable(item.getAvailable());
         }
 
-        return itemRepository.save(existingItem);
+        Item savedItem = itemRepository.save(existingItem);
+        itemSearchEngine.index(savedItem);
+        return savedItem;
     }
 
+    /**
+     * Not wrapped in a transaction of its own; each repository call runs in its own read-only transaction. That
+     * only frees the connection while {@link ItemDetailsLoader} waits on lookups running on other threads when
+     * open-in-view is off, since an open-in-view EntityManager keeps its connection until the request ends.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Item getItem(Long itemId, Long userId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found"));
 
-        if (item.getOwner().getId().equals(userId)) {
-            LocalDateTime now = LocalDateTime.now();
-            item.setLastBooking(bookingRepository.findLastBooking(itemId, now).stream().findFirst().orElse(null));
-            item.setNextBooking(bookingRepository.findNextBooking(itemId, now).stream().findFirst().orElse(null));
-        }
-
-        item.setComments(commentRepository.findByItemId(itemId));
+        itemDetailsLoader.loadDetails(item, item.getOwner().getId().equals(userId));
         return item;
     }
 
     @Override
+    @ReplicaRead
     public List<Item> getUserItems(Long userId, Integer from, Integer size) {
         PageRequest page = PageRequest.of(from / size, size);
         List<Item> items = itemRepository.findByOwnerId(userId, page);
+        if (items.isEmpty()) {
+            return items;
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
         LocalDateTime now = LocalDateTime.now();
 
-        return items.stream().peek(item -> {
-            item.setLastBooking(bookingRepository.findLastBooking(item.getId(), now)
-                    .stream().findFirst().orElse(null));
-            item.setNextBooking(bookingRepository.findNextBooking(item.getId(), now)
-                    .stream().findFirst().orElse(null));
-            item.setComments(commentRepository.findByItemId(item.getId()));
-        }).collect(Collectors.toList());
+        Map<Long, Booking> lastBookings = groupFirstByItemId(bookingRepository.findLastBookings(itemIds, now));
+        Map<Long, Booking> nextBookings = groupFirstByItemId(bookingRepository.findNextBookings(itemIds, now));
+        Map<Long, List<Comment>> comments = commentRepository.findByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+
+        items.forEach(item -> {
+            item.setLastBooking(lastBookings.get(item.getId()));
+            item.setNextBooking(nextBookings.get(item.getId()));
+            item.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
+        });
+        return items;
     }
 
     @Override
-    public List<Item> searchItems(String text) {
+    @ReplicaRead
+    public List<Item> searchItems(String text, Integer from, Integer size) {
         if (text == null || text.isBlank()) {
             return Collections.emptyList();
         }
-        return itemRepository.searchAvailableItems(text);
+        int pageSize = Math.min(size, maxSearchPageSize);
+        return itemSearchEngine.search(text, PageRequest.of(from / pageSize, pageSize));
     }
 
     @Override
+    @Transactional
     public Comment addComment(Comment comment, Long itemId, Long userId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found"));
@@ -129,6 +165,12 @@ public class ItemServiceImpl implements ItemService {
         return commentRepository.save(comment);
     }
 
+    private Map<Long, Booking> groupFirstByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first));
+    }
+
     private void validateItem(Item item) {
         if (item.getName() == null || item.getName().isBlank()) {
             throw new ValidationException("Name cannot be blank");
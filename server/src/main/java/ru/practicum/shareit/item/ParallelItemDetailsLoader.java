@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Issues the lookups concurrently, each in its own read-only transaction on a fixed pool of threads, so an item
+ * page waits for the slowest query instead of the sum of all three. The pool size is the connection budget of
+ * these lookups: it must stay below the Hikari pool, and callers must not hold a connection while they wait,
+ * which rules out {@code spring.jpa.open-in-view}.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.item.details-loader.mode", havingValue = "parallel")
+public class ParallelItemDetailsLoader implements ItemDetailsLoader, DisposableBean {
+    private final BookingRepository bookingRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ExecutorService executor;
+
+    public ParallelItemDetailsLoader(BookingRepository bookingRepository, CommentRepository commentRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${shareit.item.details-loader.threads:8}") int threads,
+                                     @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            throw new IllegalStateException(
+                    "shareit.item.details-loader.mode=parallel requires spring.jpa.open-in-view=false");
+        }
+        this.bookingRepository = bookingRepository;
+        this.commentRepository = commentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("item-details-"));
+    }
+
+    @Override
+    public void loadDetails(Item item, boolean withBookings) {
+        Long itemId = item.getId();
+        LocalDateTime now = LocalDateTime.now();
+        CompletableFuture<Optional<Booking>> lastBooking = withBookings
+                ? submit(() -> bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
+                        itemId, BookingStatus.APPROVED, now))
+                : CompletableFuture.completedFuture(Optional.empty());
+        CompletableFuture<Optional<Booking>> nextBooking = withBookings
+                ? submit(() -> bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                        itemId, BookingStatus.APPROVED, now))
+                : CompletableFuture.completedFuture(Optional.empty());
+        CompletableFuture<List<Comment>> comments = submit(() -> commentRepository.findByItemId(itemId));
+
+        try {
+            CompletableFuture.allOf(lastBooking, nextBooking, comments).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        item.setLastBooking(lastBooking.join().orElse(null));
+        item.setNextBooking(nextBooking.join().orElse(null));
+        item.setComments(comments.join());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> lookup) {
+        return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> lookup.get()), executor);
+    }
+}
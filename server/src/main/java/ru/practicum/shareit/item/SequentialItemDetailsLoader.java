@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.details-loader.mode", havingValue = "sequential", matchIfMissing = true)
+public class SequentialItemDetailsLoader implements ItemDetailsLoader {
+    private final BookingRepository bookingRepository;
+
+    private final CommentRepository commentRepository;
+
+    @Override
+    public void loadDetails(Item item, boolean withBookings) {
+        if (withBookings) {
+            LocalDateTime now = LocalDateTime.now();
+            item.setLastBooking(bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
+                    item.getId(), BookingStatus.APPROVED, now).orElse(null));
+            item.setNextBooking(bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                    item.getId(), BookingStatus.APPROVED, now).orElse(null));
+        }
+        item.setComments(commentRepository.findByItemId(item.getId()));
+    }
+}
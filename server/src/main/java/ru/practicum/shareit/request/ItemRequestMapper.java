@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -20,7 +21,7 @@ public class ItemRequestMapper {
         dto.setDescription(request.getDescription());
         dto.setCreated(request.getCreated());
 
-        if (request.getItems() != null) {
+        if (request.getItems() != null && Hibernate.isInitialized(request.getItems())) {
             dto.setItems(request.getItems().stream()
                     .map(itemMapper::toDto)
                     .collect(Collectors.toList()));
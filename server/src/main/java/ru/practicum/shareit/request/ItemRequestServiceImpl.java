@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.ReplicaRead;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
@@ -11,19 +13,25 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdFilter;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
 
     private final UserRepository userRepository;
 
+    private final UserIdFilter userIdFilter;
+
     private final ItemRepository itemRepository;
 
     private final ItemRequestMapper itemRequestMapper;
@@ -31,6 +39,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemMapper itemMapper;
 
     @Override
+    @Transactional
     public ItemRequestDto createRequest(Long userId, String description) {
         User requester = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
@@ -45,48 +54,26 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @ReplicaRead
     public List<ItemRequestDto> getUserRequests(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new NotFoundException("User not found");
-        }
+        validateUserExists(userId);
 
-        return itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId).stream()
-                .map(request -> {
-                    List<ItemDto> items = itemRepository.findAllByRequestId(request.getId()).stream()
-                            .map(itemMapper::toDto)
-                            .collect(Collectors.toList());
-                    ItemRequestDto dto = itemRequestMapper.toDto(request);
-                    dto.setItems(items);
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        return toDtosWithItems(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId));
     }
 
     @Override
+    @ReplicaRead
     public List<ItemRequestDto> getOtherUsersRequests(Long userId, Integer from, Integer size) {
-        if (!userRepository.existsById(userId)) {
-            throw new NotFoundException("User not found");
-        }
+        validateUserExists(userId);
 
         PageRequest page = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC,
                 "created"));
-        return itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDesc(userId, page).stream()
-                .map(request -> {
-                    List<ItemDto> items = itemRepository.findAllByRequestId(request.getId()).stream()
-                            .map(itemMapper::toDto)
-                            .collect(Collectors.toList());
-                    ItemRequestDto dto = itemRequestMapper.toDto(request);
-                    dto.setItems(items);
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        return toDtosWithItems(itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDesc(userId, page));
     }
 
     @Override
     public ItemRequestDto getRequestById(Long userId, Long requestId) {
-        if (!userRepository.existsById(userId)) {
-            throw new NotFoundException("User not found");
-        }
+        validateUserExists(userId);
 
         ItemRequest request = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Request not found"));
@@ -100,4 +87,31 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         return dto;
     }
-}
\ No newline at end of file
+
+    private List<ItemRequestDto> toDtosWithItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> items = itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(itemMapper::toDto, Collectors.toList())));
+
+        return requests.stream()
+                .map(request -> {
+                    ItemRequestDto dto = itemRequestMapper.toDto(request);
+                    dto.setItems(items.getOrDefault(request.getId(), Collections.emptyList()));
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private void validateUserExists(Long userId) {
+        if (!userIdFilter.mightExist(userId) || !userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found");
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap of live user ids used to reject unknown {@code X-Sharer-User-Id} values without a database round
+ * trip. Ids are sequence-generated and dense, so one bit per id is exact and cheaper than a Bloom filter.
+ * Only a negative answer is trusted: a positive still goes to the database, and ids the bitmap cannot hold
+ * always do.
+ * <p>
+ * Other instances create users this one never hears about, so a negative is only given for ids up to the
+ * highest id of the last full load; anything above it might exist. The bitmap is reloaded periodically to move
+ * that bound forward and to drop users deleted elsewhere.
+ */
+@Component
+@Slf4j
+public class UserIdFilter {
+    private final UserRepository userRepository;
+
+    private BitSet ids = new BitSet();
+
+    private long highestLoadedId = -1;
+
+    /**
+     * Ids added while {@link #reload()} is between its snapshot and its swap; null when no reload is running.
+     */
+    private BitSet addedDuringReload;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean warm;
+
+    public UserIdFilter(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        int loaded = reload();
+        warm = true;
+        log.info("User id filter warmed with {} users", loaded);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.user.id-filter.refresh-interval:PT1M}",
+            initialDelayString = "${shareit.user.id-filter.refresh-interval:PT1M}")
+    public void refresh() {
+        if (warm) {
+            reload();
+        }
+    }
+
+    public boolean mightExist(Long userId) {
+        if (!warm || !fits(userId)) {
+            return true;
+        }
+        lock.readLock().lock();
+        try {
+            return userId > highestLoadedId || ids.get(userId.intValue());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(Long userId) {
+        if (!fits(userId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ids.set(userId.intValue());
+            if (addedDuringReload != null) {
+                addedDuringReload.set(userId.intValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId) {
+        if (!fits(userId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ids.clear(userId.intValue());
+            if (addedDuringReload != null) {
+                addedDuringReload.clear(userId.intValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Users persisted after the snapshot are not in it, and their ids can be at or below its highest id when a
+     * higher id committed first, so ids added while the snapshot loads are carried over into the new bitmap.
+     */
+    private synchronized int reload() {
+        setAddedDuringReload(new BitSet());
+        List<Long> userIds;
+        try {
+            userIds = userRepository.findAllIds();
+        } catch (RuntimeException e) {
+            setAddedDuringReload(null);
+            throw e;
+        }
+        BitSet loaded = new BitSet();
+        long highest = -1;
+        for (Long userId : userIds) {
+            if (fits(userId)) {
+                loaded.set(userId.intValue());
+            }
+            highest = Math.max(highest, userId);
+        }
+        lock.writeLock().lock();
+        try {
+            loaded.or(addedDuringReload);
+            ids = loaded;
+            highestLoadedId = highest;
+            addedDuringReload = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return userIds.size();
+    }
+
+    private void setAddedDuringReload(BitSet added) {
+        lock.writeLock().lock();
+        try {
+            addedDuringReload = added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean fits(Long userId) {
+        return userId != null && userId >= 0 && userId <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.user;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps {@link UserIdFilter} in step with every {@link User} written through JPA. Ids are added as soon as
+ * they are assigned, since a stale positive only costs a lookup, but removed only after the deleting
+ * transaction commits, since a stale negative would hide an existing user.
+ */
+public class UserIdFilterListener {
+    private final ObjectProvider<UserIdFilter> userIdFilter;
+
+    public UserIdFilterListener(ObjectProvider<UserIdFilter> userIdFilter) {
+        this.userIdFilter = userIdFilter;
+    }
+
+    @PostPersist
+    public void onPersisted(User user) {
+        userIdFilter.ifAvailable(filter -> filter.add(user.getId()));
+    }
+
+    @PostRemove
+    public void onRemoved(User user) {
+        Long userId = user.getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userIdFilter.ifAvailable(filter -> filter.remove(userId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userIdFilter.ifAvailable(filter -> filter.remove(userId));
+            }
+        });
+    }
+}
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.user;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 
@@ -10,17 +12,22 @@ import java.util.List;
 
 @Service
 @RequiredArgsConstructor
-@Transactional
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
+    private static final String EMAIL_CONSTRAINT = "UQ_USER_EMAIL";
+
     private final UserRepository userRepository;
 
+    private final UserIdFilter userIdFilter;
+
     @Override
+    @Transactional
     public User createUser(User user) {
-        validateUserEmail(user.getEmail());
-        return userRepository.save(user);
+        return saveWithUniqueEmail(user);
     }
 
     @Override
+    @Transactional
     public User updateUser(Long userId, User userUpdates) {
         User existingUser = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
@@ -30,22 +37,23 @@ public class UserServiceImpl implements UserService {
         }
 
         if (userUpdates.getEmail() != null && !userUpdates.getEmail().isBlank()) {
-            if (!userUpdates.getEmail().equals(existingUser.getEmail())) {
-                validateUserEmail(userUpdates.getEmail());
-                existingUser.setEmail(userUpdates.getEmail());
-            }
+            existingUser.setEmail(userUpdates.getEmail());
         }
 
-        return userRepository.save(existingUser);
+        return saveWithUniqueEmail(existingUser);
     }
 
     @Override
     public User getUser(Long userId) {
+        if (!userIdFilter.mightExist(userId)) {
+            throw new NotFoundException("User not found");
+        }
         return userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long userId) {
         userRepository.deleteById(userId);
     }
@@ -55,9 +63,24 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
 
-    private void validateUserEmail(String email) {
-        if (userRepository.existsByEmail(email)) {
-            throw new ConflictException("Email already exists");
+    /**
+     * Relies on the {@code UQ_USER_EMAIL} constraint instead of a separate lookup, which would cost a round
+     * trip and still let concurrent signups with the same email race past it.
+     */
+    private User saveWithUniqueEmail(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, EMAIL_CONSTRAINT)) {
+                throw new ConflictException("Email already exists");
+            }
+            throw e;
         }
     }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toUpperCase().contains(constraint);
+    }
 }
\ No newline at end of file
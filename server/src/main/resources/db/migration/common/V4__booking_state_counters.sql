@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS booking_state_counters (
+    user_id BIGINT NOT NULL,
+    role VARCHAR(20) NOT NULL,
+    state VARCHAR(20) NOT NULL,
+    total BIGINT NOT NULL,
+    CONSTRAINT pk_booking_state_counter PRIMARY KEY (user_id, role, state),
+    CONSTRAINT fk_booking_state_counter_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_start ON bookings (start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_end ON bookings (end_date);
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS booking_state_counter_checkpoint (
+    id INTEGER NOT NULL,
+    rolled_to TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_booking_state_counter_checkpoint PRIMARY KEY (id)
+);
+
+INSERT INTO booking_state_counter_checkpoint (id, rolled_to) VALUES (1, NULL);
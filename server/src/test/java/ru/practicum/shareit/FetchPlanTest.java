@@ -0,0 +1,172 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the JDBC statements each service call and its response mapping issue, so that a lazy association
+ * touched outside its fetch plan shows up as an extra statement.
+ */
+@DataJpaTest
+@Import(TestConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FetchPlanTest {
+    private static final int SIZE = 5;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingMapper bookingMapper;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemMapper itemMapper;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    private Statistics statistics;
+
+    private User owner;
+    private User requester;
+    private final List<Item> items = new ArrayList<>();
+    private final List<User> bookers = new ArrayList<>();
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = persistUser("owner");
+        requester = persistUser("requester");
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < SIZE; i++) {
+            ItemRequest request = new ItemRequest();
+            request.setDescription("Request " + i);
+            request.setRequester(requester);
+            request.setCreated(now.minusHours(i));
+            em.persist(request);
+
+            Item item = new Item();
+            item.setName("Item " + i);
+            item.setDescription("Description " + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            item.setRequest(request);
+            items.add(em.persist(item));
+
+            User booker = persistUser("booker" + i);
+            bookers.add(booker);
+
+            Booking booking = new Booking();
+            booking.setStart(now.minusDays(i + 2));
+            booking.setEnd(now.minusDays(i + 1));
+            booking.setItem(items.get(0));
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.APPROVED);
+            bookings.add(em.persist(booking));
+
+            Comment comment = new Comment();
+            comment.setText("Comment " + i);
+            comment.setItem(items.get(0));
+            comment.setAuthor(booker);
+            comment.setCreated(now);
+            em.persist(comment);
+        }
+        em.flush();
+        em.clear();
+
+        statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void getBooking_shouldLoadItemAndBookerInOneStatement() {
+        BookingResponseDto dto = bookingMapper.toResponseDto(
+                bookingService.getBooking(bookings.get(0).getId(), owner.getId()));
+
+        assertEquals("booker0", dto.getBooker().getName());
+        assertEquals("Item 0", dto.getItem().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getOwnerBookings_shouldNotLoadAssociationsPerBooking() {
+        List<BookingResponseDto> dtos = bookingService.getOwnerBookings(owner.getId(), "ALL", 0, SIZE).stream()
+                .map(bookingMapper::toResponseDto)
+                .collect(Collectors.toList());
+
+        assertEquals(SIZE, dtos.size());
+        assertEquals(2, statistics.getPrepareStatementCount(), "Expected user check and bookings query");
+    }
+
+    @Test
+    void getUserBookings_shouldNotLoadAssociationsPerBooking() {
+        List<BookingResponseDto> dtos = bookingService.getUserBookings(bookers.get(0).getId(), "ALL",
+                        null, null, SIZE).stream()
+                .map(bookingMapper::toResponseDto)
+                .collect(Collectors.toList());
+
+        assertEquals(1, dtos.size());
+        assertEquals(2, statistics.getPrepareStatementCount(), "Expected user check and bookings query");
+    }
+
+    @Test
+    void getItem_shouldLoadCommentAuthorsWithComments() {
+        ItemDto dto = itemMapper.toDto(itemService.getItem(items.get(0).getId(), requester.getId()));
+
+        assertEquals(SIZE, dto.getComments().size());
+        assertEquals(2, statistics.getPrepareStatementCount(), "Expected item and comments queries");
+    }
+
+    @Test
+    void getUserRequests_shouldNotInitializeItemCollections() {
+        List<ItemRequestDto> dtos = itemRequestService.getUserRequests(requester.getId());
+
+        assertEquals(SIZE, dtos.size());
+        assertEquals(0, statistics.getCollectionFetchCount());
+        assertEquals(3, statistics.getPrepareStatementCount(), "Expected user check, requests and items queries");
+    }
+
+    private User persistUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        return em.persist(user);
+    }
+}
@@ -0,0 +1,151 @@
+package ru.practicum.shareit;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.SecondLevelCacheMetrics;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(TestConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SecondLevelCacheMetrics cacheMetrics;
+
+    private Statistics statistics;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.createUser(new User(null, "Cached", "cached@example.com"));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void regions_shouldExpireEntriesAfterWrite() {
+        JCacheRegionFactory regionFactory = (JCacheRegionFactory) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+
+        for (String region : new String[]{"users", "items", "requests"}) {
+            @SuppressWarnings("unchecked")
+            CaffeineConfiguration<Object, Object> configuration = regionFactory.getCacheManager()
+                    .getCache(region).getConfiguration(CaffeineConfiguration.class);
+            assertEquals(OptionalLong.of(Duration.ofSeconds(60).toNanos()), configuration.getExpireAfterWrite(),
+                    region);
+            assertEquals(OptionalLong.empty(), configuration.getExpireAfterAccess(), region);
+        }
+    }
+
+    @Test
+    void getUser_shouldBeServedFromCacheAfterFirstLoad() {
+        userService.getUser(user.getId());
+        statistics.clear();
+
+        User found = userService.getUser(user.getId());
+
+        assertEquals("Cached", found.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void updateUser_shouldReplaceCachedUser() {
+        userService.getUser(user.getId());
+
+        userService.updateUser(user.getId(), new User(null, "Renamed", null));
+
+        assertEquals("Renamed", userService.getUser(user.getId()).getName());
+    }
+
+    @Test
+    void deleteUser_shouldEvictCachedUser() {
+        userService.getUser(user.getId());
+
+        userService.deleteUser(user.getId());
+
+        assertThrows(NotFoundException.class, () -> userService.getUser(user.getId()));
+    }
+
+    @Test
+    void updateItem_shouldReplaceCachedItem() {
+        Item item = itemService.addItem(new Item(null, "Drill", "Cordless drill", true, null, null, null,
+                null, null, null), user.getId());
+        itemService.getItem(item.getId(), user.getId());
+
+        itemService.updateItem(new Item(item.getId(), "Hammer drill", null, null, null, null, null,
+                null, null, null), user.getId());
+
+        assertEquals("Hammer drill", itemService.getItem(item.getId(), user.getId()).getName());
+    }
+
+    @Test
+    void cacheRegions_shouldExportHitMissAndEvictionMeters() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cacheMetrics.bindTo(meterRegistry);
+
+        userService.getUser(user.getId());
+        userService.getUser(user.getId());
+
+        assertNotNull(meterRegistry.find("cache.evictions").tag("cache", "users").functionCounter());
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count() > 0);
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "users").tag("result", "miss")
+                .functionCounter());
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load harness comparing request handling on platform and virtual threads under a {@code getUserItems}-heavy
+ * workload. Each run boots the server on a random port, seeds owners with booked items and has many concurrent
+ * clients page through their items, then logs throughput and latency percentiles. Only runs on request:
+ * <pre>
+ * mvn -pl server test -Dtest=ThreadingLoadTest -Dshareit.load-test=true
+ * </pre>
+ * and {@code -Dshareit.load-test.concurrency}, {@code .requests} and {@code .pool-size} adjust the load.
+ */
+@EnabledIfSystemProperty(named = "shareit.load-test", matches = "true")
+class ThreadingLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(ThreadingLoadTest.class);
+
+    private static final int OWNERS = 50;
+    private static final int ITEMS_PER_OWNER = 20;
+    private static final int BOOKINGS_PER_ITEM = 3;
+    private static final int WARM_UP_REQUESTS = 500;
+
+    private final int concurrency = Integer.getInteger("shareit.load-test.concurrency", 400);
+    private final int requestsPerClient = Integer.getInteger("shareit.load-test.requests", 50);
+    private final int poolSize = Integer.getInteger("shareit.load-test.pool-size", 20);
+
+    @ParameterizedTest(name = "virtual threads: {0}")
+    @ValueSource(booleans = {false, true})
+    void getUserItems(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads,
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level." + ThreadingLoadTest.class.getName() + "=INFO")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<Long> ownerIds = seed(context);
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+                send(client, port, ownerIds);
+            }
+
+            long[] latencies = new long[concurrency * requestsPerClient];
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            long started = System.nanoTime();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < concurrency; c++) {
+                    clients.submit(() -> {
+                        for (int r = 0; r < requestsPerClient; r++) {
+                            long requestStarted = System.nanoTime();
+                            if (!send(client, port, ownerIds)) {
+                                errors.incrementAndGet();
+                            }
+                            latencies[next.getAndIncrement()] = System.nanoTime() - requestStarted;
+                        }
+                    });
+                }
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            Arrays.sort(latencies);
+            log.info("{} threads, {} clients, pool {}: {} req/s, p50 {} ms, p99 {} ms, max {} ms, {} errors",
+                    virtualThreads ? "virtual" : "platform", concurrency, poolSize,
+                    Math.round(latencies.length / seconds), percentile(latencies, 0.50),
+                    percentile(latencies, 0.99), percentile(latencies, 1.0), errors.get());
+            assertEquals(0, errors.get());
+        }
+    }
+
+    private List<Long> seed(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+
+        User booker = userRepository.save(new User(null, "Booker", "booker@example.com"));
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ownerIds = new ArrayList<>();
+        for (int o = 0; o < OWNERS; o++) {
+            User owner = userRepository.save(new User(null, "Owner " + o, "owner" + o + "@example.com"));
+            ownerIds.add(owner.getId());
+            for (int i = 0; i < ITEMS_PER_OWNER; i++) {
+                Item item = new Item();
+                item.setName("Item " + o + "-" + i);
+                item.setDescription("Description " + i);
+                item.setAvailable(true);
+                item.setOwner(owner);
+                itemRepository.save(item);
+                for (int b = 0; b < BOOKINGS_PER_ITEM; b++) {
+                    Booking booking = new Booking();
+                    booking.setStart(now.plusDays(b * 2L - 3));
+                    booking.setEnd(now.plusDays(b * 2L - 2));
+                    booking.setItem(item);
+                    booking.setBooker(booker);
+                    booking.setStatus(BookingStatus.APPROVED);
+                    bookingRepository.save(booking);
+                }
+            }
+        }
+        return ownerIds;
+    }
+
+    private static boolean send(HttpClient client, int port, List<Long> ownerIds) {
+        Long ownerId = ownerIds.get(ThreadLocalRandom.current().nextInt(ownerIds.size()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items?from=0&size=20"))
+                .header("X-Sharer-User-Id", String.valueOf(ownerId))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))] / 1_000_000;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdvisoryBookingItemLockTest {
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private AdvisoryBookingItemLock itemLock;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void withItemLock_shouldTakeAdvisoryLockInsideTransactionBeforeAction() {
+        Supplier<String> action = mock(Supplier.class);
+        when(action.get()).thenReturn("saved");
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+
+        assertEquals("saved", itemLock.withItemLock(42L, action));
+
+        InOrder order = inOrder(transactionTemplate, jdbcTemplate, action);
+        order.verify(transactionTemplate).execute(any());
+        order.verify(jdbcTemplate).query(eq("SELECT pg_advisory_xact_lock(?)"), any(RowCallbackHandler.class),
+                eq(42L));
+        order.verify(action).get();
+    }
+}
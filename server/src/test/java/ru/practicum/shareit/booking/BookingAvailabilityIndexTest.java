@@ -0,0 +1,169 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAvailabilityIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private Booking createBooking(Long id, Long itemId, int startDay, int endDay) {
+        Item item = new Item();
+        item.setId(itemId);
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setStart(BASE.plusDays(startDay));
+        booking.setEnd(BASE.plusDays(endDay));
+        return booking;
+    }
+
+    @Test
+    void warmUp_shouldLoadApprovedIntervals() {
+        BookingAvailabilityIndex index = new BookingAvailabilityIndex(bookingRepository, true);
+        when(bookingRepository.findIntervalsByStatusAndEndFrom(eq(BookingStatus.APPROVED), any())).thenReturn(List.of(
+                new BookingInterval(1L, 1L, BASE.plusDays(1), BASE.plusDays(3))));
+
+        assertFalse(index.isWarm());
+        index.warmUp();
+
+        assertTrue(index.isWarm());
+        assertTrue(index.hasOverlap(1L, BASE.plusDays(2), BASE.plusDays(4)));
+        assertFalse(index.hasOverlap(1L, BASE.plusDays(4), BASE.plusDays(5)));
+        assertFalse(index.hasOverlap(2L, BASE.plusDays(1), BASE.plusDays(3)));
+    }
+
+    @Test
+    void warmUp_shouldStayColdWhenDisabled() {
+        BookingAvailabilityIndex index = new BookingAvailabilityIndex(bookingRepository, false);
+
+        index.warmUp();
+        index.add(createBooking(1L, 1L, 1, 3));
+
+        assertFalse(index.isWarm());
+        assertFalse(index.hasOverlap(1L, BASE.plusDays(1), BASE.plusDays(3)));
+        verify(bookingRepository, never()).findIntervalsByStatusAndEndFrom(any(), any());
+    }
+
+    @Test
+    void hasOverlap_shouldMatchInclusiveBoundsAndContainment() {
+        BookingAvailabilityIndex index = new BookingAvailabilityIndex(bookingRepository, true);
+        index.add(createBooking(1L, 1L, 10, 12));
+
+        assertTrue(index.hasOverlap(1L, BASE.plusDays(8), BASE.plusDays(10)));
+        assertTrue(index.hasOverlap(1L, BASE.plusDays(12), BASE.plusDays(14)));
+        assertTrue(index.hasOverlap(1L, BASE.plusDays(11), BASE.plusDays(11)));
+        assertTrue(index.hasOverlap(1L, BASE.plusDays(5), BASE.plusDays(20)));
+        assertFalse(index.hasOverlap(1L, BASE.plusDays(5), BASE.plusDays(9)));
+        assertFalse(index.hasOverlap(1L, BASE.plusDays(13), BASE.plusDays(20)));
+    }
+
+    @Test
+    void add_shouldMergeOverlappingIntervalsIntoOneSegment() {
+        BookingAvailabilityIndex index = new BookingAvailabilityIndex(bookingRepository, true);
+        index.add(createBooking(1L, 1L, 1, 3));
+        index.add(createBooking(2L, 1L, 7, 9));
+        index.add(createBooking(3L, 1L, 2, 8));
+
+        assertTrue(index.hasOverlap(1L, BASE.plusDays(5), BASE.plusDays(5)));
+        assertTrue(index.hasOverlap(1L, BASE.plusDays(9), BASE.plusDays(10)));
+        assertFalse(index.hasOverlap(1L, BASE.plusDays(10), BASE.plusDays(11)));
+    }
+
+    @Test
+    void remove_shouldRebuildSegmentsWithoutRemovedBooking() {
+        BookingAvailabilityIndex index = new BookingAvailabilityIndex(bookingRepository, true);
+        Booking bridge = createBooking(3L, 1L, 2, 8);
+        index.add(createBooking(1L, 1L, 1, 3));
+        index.add(createBooking(2L, 1L, 7, 9));
+        index.add(bridge);
+
+        index.remove(bridge);
+
+        assertFalse(index.hasOverlap(1L, BASE.plusDays(4), BASE.plusDays(6)));
+        assertTrue(index.hasOverlap(1L, BASE.plusDays(2), BASE.plusDays(2)));
+        assertTrue(index.hasOverlap(1L, BASE.plusDays(8), BASE.plusDays(8)));
+    }
+
+    @Test
+    void prune_shouldDropEndedBookingsAndKeepOngoingOnes() {
+        BookingAvailabilityIndex index = new BookingAvailabilityIndex(bookingRepository, true);
+        index.add(createBooking(1L, 1L, 1, 3));
+        index.add(createBooking(2L, 1L, 2, 4));
+        index.add(createBooking(3L, 1L, 6, 9));
+        index.add(createBooking(4L, 2L, 1, 2));
+
+        index.prune(BASE.plusDays(7));
+
+        assertEquals(1, index.size());
+        assertFalse(index.hasOverlap(1L, BASE.plusDays(1), BASE.plusDays(5)));
+        assertFalse(index.hasOverlap(2L, BASE.plusDays(1), BASE.plusDays(2)));
+        assertTrue(index.hasOverlap(1L, BASE.plusDays(8), BASE.plusDays(10)));
+    }
+
+    @Test
+    void remove_afterPrune_shouldNotRestoreEndedBookings() {
+        BookingAvailabilityIndex index = new BookingAvailabilityIndex(bookingRepository, true);
+        Booking later = createBooking(2L, 1L, 6, 9);
+        index.add(createBooking(1L, 1L, 1, 3));
+        index.add(later);
+        index.add(createBooking(3L, 1L, 10, 12));
+
+        index.prune(BASE.plusDays(5));
+        index.remove(later);
+
+        assertFalse(index.hasOverlap(1L, BASE.plusDays(1), BASE.plusDays(9)));
+        assertTrue(index.hasOverlap(1L, BASE.plusDays(11), BASE.plusDays(11)));
+    }
+
+    @Test
+    void add_shouldApplyOnlyAfterCommitInsideTransaction() {
+        BookingAvailabilityIndex index = new BookingAvailabilityIndex(bookingRepository, true);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.add(createBooking(1L, 1L, 1, 3));
+
+            assertFalse(index.hasOverlap(1L, BASE.plusDays(2), BASE.plusDays(2)));
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            assertTrue(index.hasOverlap(1L, BASE.plusDays(2), BASE.plusDays(2)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void remove_shouldBeDroppedWhenTransactionDoesNotCommit() {
+        BookingAvailabilityIndex index = new BookingAvailabilityIndex(bookingRepository, true);
+        Booking booking = createBooking(1L, 1L, 1, 3);
+        index.add(booking);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.remove(booking);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(index.hasOverlap(1L, BASE.plusDays(2), BASE.plusDays(2)));
+    }
+}
@@ -0,0 +1,211 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.TestConfig;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers one item with overlapping bookings and approvals from many threads and checks that no two
+ * approved bookings of the item overlap, and that a booking decided from several threads at once is decided once.
+ */
+@DataJpaTest
+@Import(TestConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingConcurrencyStressTest {
+    private static final Logger log = LoggerFactory.getLogger(BookingConcurrencyStressTest.class);
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+    private static final int SLOTS = 8;
+    private static final int DECIDERS = 4;
+    private static final int DECISION_ROUNDS = 20;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingStateCounters stateCounters;
+
+    @Autowired
+    private BookingStateCounterRepository counterRepository;
+
+    private User owner;
+    private Item item;
+    private final List<User> bookers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "stress-owner@example.com"));
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(new User(null, "Booker " + i, "stress-booker" + i + "@example.com")));
+        }
+        item = new Item();
+        item.setName("Popular drill");
+        item.setDescription("Everyone wants it");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+    }
+
+    @AfterEach
+    void tearDown() {
+        counterRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void addAndApproveBooking_underContention_shouldNeverApproveOverlappingBookings() throws Exception {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (User booker : bookers) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        int slot = ThreadLocalRandom.current().nextInt(SLOTS);
+                        try {
+                            Booking booking = bookingService.addBooking(newBooking(base, slot), booker.getId());
+                            bookingService.approveBooking(booking.getId(), owner.getId(), true);
+                            approved.incrementAndGet();
+                        } catch (ValidationException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            double seconds = (System.nanoTime() - startedAt) / 1e9;
+            int attempts = THREADS * ATTEMPTS_PER_THREAD;
+            log.info("{} booking attempts from {} threads in {} s ({} ops/s): {} approved, {} rejected",
+                    attempts, THREADS, String.format("%.2f", seconds), String.format("%.0f", attempts / seconds),
+                    approved.get(), rejected.get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Booking> approvedBookings = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .toList();
+        assertEquals(approved.get(), approvedBookings.size());
+        assertTrue(approved.get() > 0);
+        for (int i = 0; i < approvedBookings.size(); i++) {
+            for (int j = i + 1; j < approvedBookings.size(); j++) {
+                assertFalse(overlaps(approvedBookings.get(i), approvedBookings.get(j)),
+                        "Approved bookings overlap: " + approvedBookings.get(i).getId() + " and "
+                                + approvedBookings.get(j).getId());
+            }
+        }
+    }
+
+    @Test
+    void approveBooking_sameBookingFromSeveralThreads_shouldDecideItOnce() throws Exception {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        User booker = bookers.get(0);
+        ExecutorService executor = Executors.newFixedThreadPool(DECIDERS);
+        try {
+            for (int round = 0; round < DECISION_ROUNDS; round++) {
+                Booking booking = bookingService.addBooking(newBooking(base, round * 2), booker.getId());
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> decisions = new ArrayList<>();
+                for (int d = 0; d < DECIDERS; d++) {
+                    boolean approve = d % 2 == 0;
+                    decisions.add(executor.submit(() -> {
+                        start.await();
+                        try {
+                            bookingService.approveBooking(booking.getId(), owner.getId(), approve);
+                            return true;
+                        } catch (ValidationException e) {
+                            return false;
+                        }
+                    }));
+                }
+                start.countDown();
+
+                int decided = 0;
+                for (Future<Boolean> decision : decisions) {
+                    if (decision.get()) {
+                        decided++;
+                    }
+                }
+                assertEquals(1, decided, "Booking " + booking.getId() + " was decided " + decided + " times");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long rejectedBookings = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.REJECTED)
+                .count();
+        Map<BookingState, Long> summary = stateCounters.getSummary(booker.getId(), BookingStateCounter.Role.BOOKER);
+        assertEquals(0L, summary.get(BookingState.WAITING));
+        assertEquals(rejectedBookings, summary.get(BookingState.REJECTED));
+        assertEquals(DECISION_ROUNDS, summary.get(BookingState.ALL));
+    }
+
+    /**
+     * Slots are 18 hours long and start 12 hours apart, so each slot overlaps its neighbours.
+     */
+    private Booking newBooking(LocalDateTime base, int slot) {
+        Booking booking = new Booking();
+        booking.setStart(base.plusHours(12L * slot));
+        booking.setEnd(base.plusHours(12L * slot + 18));
+        booking.setItem(item);
+        return booking;
+    }
+
+    private static boolean overlaps(Booking first, Booking second) {
+        return !first.getStart().isAfter(second.getEnd()) && !second.getStart().isAfter(first.getEnd());
+    }
+}
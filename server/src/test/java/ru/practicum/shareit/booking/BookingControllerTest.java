@@ -20,6 +20,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -205,8 +206,8 @@ class BookingControllerTest {
     @Test
     void getUserBookings_shouldReturnListOfBookings() throws Exception {
         Mockito.when(bookingService.getUserBookings(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(List.of(new Booking()));
-        Mockito.when(bookingMapper.toResponseDto(any(Booking.class))).thenReturn(responseDto);
+                .thenReturn(List.of(new BookingView()));
+        Mockito.when(bookingMapper.toResponseDto(any(BookingView.class))).thenReturn(responseDto);
 
         mockMvc.perform(get("/bookings?state=ALL&from=0&size=10")
                         .header("X-Sharer-User-Id", "1"))
@@ -215,6 +216,36 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1L));
     }
 
+    @Test
+    void getUserBookings_shouldUseKeysetModeWhenCursorGiven() throws Exception {
+        LocalDateTime cursorStart = LocalDateTime.of(2030, 1, 1, 10, 0);
+        Mockito.when(bookingService.getUserBookings(1L, "ALL", cursorStart, 5L, 10))
+                .thenReturn(List.of(new BookingView()));
+        Mockito.when(bookingMapper.toResponseDto(any(BookingView.class))).thenReturn(responseDto);
+
+        mockMvc.perform(get("/bookings?state=ALL&size=10&cursorStart=2030-01-01T10:00:00&cursorId=5")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        Mockito.verify(bookingService).getUserBookings(1L, "ALL", cursorStart, 5L, 10);
+        Mockito.verify(bookingService, Mockito.never()).getUserBookings(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getOwnerBookings_shouldUseKeysetModeWhenCursorGiven() throws Exception {
+        LocalDateTime cursorStart = LocalDateTime.of(2030, 1, 1, 10, 0);
+        Mockito.when(bookingService.getOwnerBookings(1L, "PAST", cursorStart, 5L, 3))
+                .thenReturn(List.of());
+
+        mockMvc.perform(get("/bookings/owner?state=PAST&size=3&cursorStart=2030-01-01T10:00:00&cursorId=5")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        Mockito.verify(bookingService).getOwnerBookings(1L, "PAST", cursorStart, 5L, 3);
+    }
+
     @Test
     void getUserBookings_shouldReturn400ForInvalidState() throws Exception {
         mockMvc.perform(get("/bookings?state=INVALID&from=0&size=10")
@@ -232,8 +263,8 @@ class BookingControllerTest {
     @Test
     void getOwnerBookings_shouldReturnListOfBookings() throws Exception {
         Mockito.when(bookingService.getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(List.of(new Booking()));
-        Mockito.when(bookingMapper.toResponseDto(any(Booking.class))).thenReturn(responseDto);
+                .thenReturn(List.of(new BookingView()));
+        Mockito.when(bookingMapper.toResponseDto(any(BookingView.class))).thenReturn(responseDto);
 
         mockMvc.perform(get("/bookings/owner?state=ALL&from=0&size=10")
                         .header("X-Sharer-User-Id", "1"))
@@ -274,4 +305,16 @@ class BookingControllerTest {
                         .content(objectMapper.writeValueAsString(bookingDto)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getOwnerBookingSummary_shouldReturnCountsPerState() throws Exception {
+        Mockito.when(bookingService.getOwnerBookingSummary(1L))
+                .thenReturn(Map.of(BookingState.ALL, 6L, BookingState.WAITING, 2L));
+
+        mockMvc.perform(get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ALL").value(6))
+                .andExpect(jsonPath("$.WAITING").value(2));
+    }
+}
@@ -1,19 +1,24 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 class BookingRepositoryTest {
@@ -58,30 +63,159 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findLastBooking_shouldReturnLastBooking() {
-        List<Booking> result = bookingRepository.findLastBooking(
-                item.getId(), LocalDateTime.now().plusDays(3));
+    void findFirstByStartBefore_shouldReturnLastBooking() {
+        Optional<Booking> result = bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
+                item.getId(), BookingStatus.APPROVED, LocalDateTime.now().plusDays(3));
 
-        assertFalse(result.isEmpty());
-        assertEquals(booking.getId(), result.get(0).getId());
+        assertTrue(result.isPresent());
+        assertEquals(booking.getId(), result.get().getId());
     }
 
     @Test
-    void findNextBooking_shouldReturnNextBooking() {
-        List<Booking> result = bookingRepository.findNextBooking(
-                item.getId(), LocalDateTime.now());
+    void findFirstByStartAfter_shouldReturnNextBooking() {
+        Optional<Booking> result = bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                item.getId(), BookingStatus.APPROVED, LocalDateTime.now());
 
-        assertFalse(result.isEmpty());
-        assertEquals(booking.getId(), result.get(0).getId());
+        assertTrue(result.isPresent());
+        assertEquals(booking.getId(), result.get().getId());
+    }
+
+    @Test
+    void findFirstByStartBefore_shouldLoadSingleBookingRegardlessOfHistorySize() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking latest = null;
+        for (int i = 100; i > 0; i--) {
+            latest = new Booking();
+            latest.setStart(now.minusDays(i * 2L));
+            latest.setEnd(now.minusDays(i * 2L - 1));
+            latest.setItem(item);
+            latest.setBooker(booker);
+            latest.setStatus(BookingStatus.APPROVED);
+            em.persist(latest);
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Optional<Booking> result = bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
+                item.getId(), BookingStatus.APPROVED, now);
+
+        assertTrue(result.isPresent());
+        assertEquals(latest.getId(), result.get().getId());
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertTrue(statistics.getEntityLoadCount() <= 4,
+                "Loaded " + statistics.getEntityLoadCount() + " entities for a single booking");
+    }
+
+    @Test
+    void findLastBookingsAndNextBookings_shouldReturnOneBookingPerItem() {
+        Booking past = new Booking();
+        past.setStart(LocalDateTime.now().minusDays(5));
+        past.setEnd(LocalDateTime.now().minusDays(4));
+        past.setItem(item);
+        past.setBooker(booker);
+        past.setStatus(BookingStatus.APPROVED);
+        em.persist(past);
+
+        Booking olderPast = new Booking();
+        olderPast.setStart(LocalDateTime.now().minusDays(10));
+        olderPast.setEnd(LocalDateTime.now().minusDays(9));
+        olderPast.setItem(item);
+        olderPast.setBooker(booker);
+        olderPast.setStatus(BookingStatus.APPROVED);
+        em.persist(olderPast);
+
+        Item otherItem = new Item();
+        otherItem.setName("Other Item");
+        otherItem.setDescription("Other Description");
+        otherItem.setAvailable(true);
+        otherItem.setOwner(owner);
+        em.persist(otherItem);
+
+        Booking rejected = new Booking();
+        rejected.setStart(LocalDateTime.now().plusDays(1));
+        rejected.setEnd(LocalDateTime.now().plusDays(2));
+        rejected.setItem(otherItem);
+        rejected.setBooker(booker);
+        rejected.setStatus(BookingStatus.REJECTED);
+        em.persist(rejected);
+
+        List<Long> itemIds = List.of(item.getId(), otherItem.getId());
+        List<Booking> last = bookingRepository.findLastBookings(itemIds, LocalDateTime.now());
+        List<Booking> next = bookingRepository.findNextBookings(itemIds, LocalDateTime.now());
+
+        assertEquals(1, last.size());
+        assertEquals(past.getId(), last.get(0).getId());
+        assertEquals(1, next.size());
+        assertEquals(booking.getId(), next.get(0).getId());
     }
 
     @Test
-    void findByBookerId_shouldReturnBookings() {
-        List<Booking> result = bookingRepository.findByBookerId(
+    void findIntervalsByStatusAndEndFrom_shouldProjectApprovedIntervals() {
+        List<BookingInterval> result = bookingRepository.findIntervalsByStatusAndEndFrom(
+                BookingStatus.APPROVED, LocalDateTime.now());
+
+        assertEquals(1, result.size());
+        assertEquals(booking.getId(), result.get(0).getBookingId());
+        assertEquals(item.getId(), result.get(0).getItemId());
+    }
+
+    @Test
+    void findViewsByBookerId_shouldProjectBookerAndItemNames() {
+        List<BookingView> result = bookingRepository.findViewsByBookerId(
                 booker.getId(), PageRequest.of(0, 10));
 
         assertFalse(result.isEmpty());
         assertEquals(booking.getId(), result.get(0).getId());
+        assertEquals(booker.getName(), result.get(0).getBookerName());
+        assertEquals(item.getName(), result.get(0).getItemName());
+    }
+
+    @Test
+    void findViewsByBookerIdBeforeCursor_shouldSeekPastStartAndIdOfCursor() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1));
+        Booking sameStart = new Booking();
+        sameStart.setStart(start);
+        sameStart.setEnd(start.plusDays(1));
+        sameStart.setItem(item);
+        sameStart.setBooker(booker);
+        sameStart.setStatus(BookingStatus.WAITING);
+        em.persist(sameStart);
+        Booking earlier = new Booking();
+        earlier.setStart(start.minusDays(5));
+        earlier.setEnd(start.minusDays(4));
+        earlier.setItem(item);
+        earlier.setBooker(booker);
+        earlier.setStatus(BookingStatus.APPROVED);
+        em.persist(earlier);
+        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        List<BookingView> result = bookingRepository.findViewsByBookerIdBeforeCursor(
+                booker.getId(), start, sameStart.getId(), page);
+
+        assertEquals(List.of(booking.getId(), earlier.getId()), result.stream().map(BookingView::getId).toList());
+    }
+
+    @Test
+    void findViewsByOwnerId_shouldNotHydrateEntities() {
+        em.clear();
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<BookingView> result = bookingRepository.findViewsByOwnerId(
+                item.getOwner().getId(), PageRequest.of(0, 10));
+
+        assertEquals(1, result.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
     }
 
     @Test
@@ -15,6 +15,7 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -113,7 +114,7 @@ class BookingServiceImplIntegrationTest {
         pastBooking.setStatus(BookingStatus.APPROVED);
         bookingRepository.save(pastBooking);
 
-        List<Booking> bookings = bookingService.getUserBookings(
+        List<BookingView> bookings = bookingService.getUserBookings(
                 booker.getId(), "ALL", 0, 10);
 
         assertEquals(2, bookings.size());
@@ -124,20 +125,73 @@ class BookingServiceImplIntegrationTest {
         bookingRepository.deleteAll();
 
         Booking futureBooking = new Booking();
-        futureBooking.setStart(LocalDateTime.now().plusDays(3));
+        futureBooking.setStart(LocalDateTime.now().plusDays(3).withNano(0));
         futureBooking.setEnd(LocalDateTime.now().plusDays(4));
         futureBooking.setItem(item);
         futureBooking.setBooker(booker);
         futureBooking.setStatus(BookingStatus.APPROVED);
         bookingRepository.save(futureBooking);
 
-        List<Booking> bookings = bookingService.getOwnerBookings(
+        List<BookingView> bookings = bookingService.getOwnerBookings(
                 owner.getId(), "FUTURE", 0, 10);
 
         assertEquals(1, bookings.size());
         assertEquals(futureBooking.getStart(), bookings.get(0).getStart());
     }
 
+    @Test
+    void getUserBookings_withCursor_shouldPageThroughTiesWithoutGapsOrDuplicates() {
+        LocalDateTime sharedStart = LocalDateTime.now().plusDays(5).withNano(0);
+        for (int i = 0; i < 5; i++) {
+            Booking next = new Booking();
+            next.setStart(i < 3 ? sharedStart : sharedStart.minusDays(i));
+            next.setEnd(sharedStart.plusDays(1));
+            next.setItem(item);
+            next.setBooker(booker);
+            next.setStatus(BookingStatus.WAITING);
+            bookingRepository.save(next);
+        }
+
+        List<BookingView> firstPage = bookingService.getUserBookings(booker.getId(), "ALL", 0, 2);
+        BookingView last = firstPage.get(firstPage.size() - 1);
+        List<BookingView> secondPage = bookingService.getUserBookings(
+                booker.getId(), "ALL", last.getStart(), last.getId(), 2);
+        last = secondPage.get(secondPage.size() - 1);
+        List<BookingView> thirdPage = bookingService.getUserBookings(
+                booker.getId(), "ALL", last.getStart(), last.getId(), 2);
+
+        List<BookingView> all = bookingService.getUserBookings(booker.getId(), "ALL", 0, 10);
+        List<BookingView> paged = new ArrayList<>(firstPage);
+        paged.addAll(secondPage);
+        paged.addAll(thirdPage);
+        assertEquals(5, paged.size());
+        assertEquals(all, paged);
+    }
+
+    @Test
+    void getOwnerBookings_withCursor_shouldReturnOlderBookingsForState() {
+        Booking newer = new Booking();
+        newer.setStart(LocalDateTime.now().plusDays(10).withNano(0));
+        newer.setEnd(LocalDateTime.now().plusDays(11));
+        newer.setItem(item);
+        newer.setBooker(booker);
+        newer.setStatus(BookingStatus.WAITING);
+        bookingRepository.save(newer);
+        Booking older = bookingRepository.save(booking);
+
+        List<BookingView> bookings = bookingService.getOwnerBookings(
+                owner.getId(), "FUTURE", newer.getStart(), newer.getId(), 10);
+
+        assertEquals(1, bookings.size());
+        assertEquals(older.getId(), bookings.get(0).getId());
+    }
+
+    @Test
+    void getUserBookings_withHalfCursor_shouldThrow() {
+        assertThrows(ValidationException.class, () -> bookingService.getUserBookings(
+                booker.getId(), "ALL", LocalDateTime.now(), null, 10));
+    }
+
     @Test
     void addBooking_shouldThrowWhenItemNotAvailable() {
         item.setAvailable(false);
@@ -178,7 +232,7 @@ class BookingServiceImplIntegrationTest {
 
         bookingRepository.save(booking);
 
-        List<Booking> bookings = bookingService.getUserBookings(
+        List<BookingView> bookings = bookingService.getUserBookings(
                 anotherUser.getId(), "ALL", 0, 10);
 
         assertTrue(bookings.isEmpty());
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.TestConfig;
+import ru.practicum.shareit.item.ItemDetailsLoader;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ParallelItemDetailsLoader;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Runs concurrent {@code addBooking} calls with the parallel item details loader active and fewer pooled
+ * connections than callers. Each caller holds a connection for its transaction, so any per-booking work that
+ * needs a second connection would starve once every connection is taken.
+ */
+@DataJpaTest
+@Import(TestConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "shareit.item.details-loader.mode=parallel",
+        "spring.jpa.open-in-view=false",
+        "spring.datasource.hikari.maximum-pool-size=" + BookingServiceImplParallelLoaderIntegrationTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=2000"
+})
+class BookingServiceImplParallelLoaderIntegrationTest {
+    static final int POOL_SIZE = 2;
+
+    private static final int CALLERS = POOL_SIZE * 3;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemDetailsLoader itemDetailsLoader;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingStateCounterRepository counterRepository;
+
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User(null, "Owner", "owner@example.com"));
+        booker = userRepository.save(new User(null, "Booker", "booker@example.com"));
+
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+    }
+
+    @AfterEach
+    void tearDown() {
+        counterRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void addBooking_withMoreCallersThanConnections_shouldNotExhaustPool() throws Exception {
+        assertInstanceOf(ParallelItemDetailsLoader.class, itemDetailsLoader);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<Booking>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                Booking booking = new Booking();
+                booking.setStart(start.plusDays(i * 2L));
+                booking.setEnd(start.plusDays(i * 2L + 1));
+                booking.setItem(item);
+                results.add(callers.submit(() -> {
+                    ready.await();
+                    return bookingService.addBooking(booking, booker.getId());
+                }));
+            }
+            ready.countDown();
+
+            for (Future<Booking> result : results) {
+                assertNotNull(result.get(30, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(CALLERS, bookingRepository.count());
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,14 +11,16 @@ import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
-import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -26,6 +29,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -39,11 +44,26 @@ class BookingServiceImplTest {
     private UserService userService;
 
     @Mock
-    private ItemService itemService;
+    private ItemRepository itemRepository;
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private BookingStateCounters stateCounters;
+
+    @Mock
+    private BookingItemLock itemLock;
 
     @InjectMocks
     private BookingServiceImpl bookingService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(itemLock.withItemLock(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
     private User createUser(Long id) {
         User user = new User();
         user.setId(id);
@@ -81,7 +101,7 @@ class BookingServiceImplTest {
         Booking booking = createBooking(null, booker, item, null);
 
         when(userService.getUser(booker.getId())).thenReturn(booker);
-        when(itemService.getItem(item.getId(), booker.getId())).thenReturn(item);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
         when(bookingRepository.existsByItemIdAndTimeRange(item.getId(), booking.getStart(), booking.getEnd()))
                 .thenReturn(false);
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
@@ -91,6 +111,7 @@ class BookingServiceImplTest {
         assertNotNull(result);
         assertEquals(BookingStatus.WAITING, result.getStatus());
         verify(bookingRepository).save(booking);
+        verify(stateCounters).onCreated(booking);
     }
 
     @Test
@@ -101,7 +122,7 @@ class BookingServiceImplTest {
         Booking booking = createBooking(null, booker, item, null);
 
         when(userService.getUser(booker.getId())).thenReturn(booker);
-        when(itemService.getItem(item.getId(), booker.getId())).thenReturn(item);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
 
         assertThrows(ValidationException.class, () ->
                 bookingService.addBooking(booking, booker.getId()));
@@ -114,7 +135,7 @@ class BookingServiceImplTest {
         Booking booking = createBooking(null, owner, item, null);
 
         when(userService.getUser(owner.getId())).thenReturn(owner);
-        when(itemService.getItem(item.getId(), owner.getId())).thenReturn(item);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
 
         assertThrows(NotFoundException.class, () ->
                 bookingService.addBooking(booking, owner.getId()));
@@ -128,7 +149,7 @@ class BookingServiceImplTest {
         Booking booking = createBooking(null, booker, item, null);
 
         when(userService.getUser(booker.getId())).thenReturn(booker);
-        when(itemService.getItem(item.getId(), booker.getId())).thenReturn(item);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
         when(bookingRepository.existsByItemIdAndTimeRange(item.getId(), booking.getStart(), booking.getEnd()))
                 .thenReturn(true);
 
@@ -136,6 +157,23 @@ class BookingServiceImplTest {
                 bookingService.addBooking(booking, booker.getId()));
     }
 
+    @Test
+    void addBooking_shouldUseAvailabilityIndexWhenWarm() {
+        User owner = createUser(1L);
+        User booker = createUser(2L);
+        Item item = createItem(1L, owner, true);
+        Booking booking = createBooking(null, booker, item, null);
+
+        when(userService.getUser(booker.getId())).thenReturn(booker);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(availabilityIndex.isWarm()).thenReturn(true);
+        when(availabilityIndex.hasOverlap(item.getId(), booking.getStart(), booking.getEnd())).thenReturn(true);
+
+        assertThrows(ValidationException.class, () ->
+                bookingService.addBooking(booking, booker.getId()));
+        verify(bookingRepository, never()).existsByItemIdAndTimeRange(any(), any(), any());
+    }
+
     @Test
     void approveBooking_shouldApproveWaitingBooking() {
         User owner = createUser(1L);
@@ -144,11 +182,15 @@ class BookingServiceImplTest {
         Booking booking = createBooking(1L, booker, item, BookingStatus.WAITING);
 
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.updateStatusIfWaiting(booking.getId(), BookingStatus.APPROVED)).thenAnswer(invocation -> {
+            booking.setStatus(BookingStatus.APPROVED);
+            return 1;
+        });
 
         Booking result = bookingService.approveBooking(booking.getId(), owner.getId(), true);
 
         assertEquals(BookingStatus.APPROVED, result.getStatus());
+        verify(availabilityIndex).add(booking);
     }
 
     @Test
@@ -159,11 +201,47 @@ class BookingServiceImplTest {
         Booking booking = createBooking(1L, booker, item, BookingStatus.WAITING);
 
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.updateStatusIfWaiting(booking.getId(), BookingStatus.REJECTED)).thenAnswer(invocation -> {
+            booking.setStatus(BookingStatus.REJECTED);
+            return 1;
+        });
 
         Booking result = bookingService.approveBooking(booking.getId(), owner.getId(), false);
 
         assertEquals(BookingStatus.REJECTED, result.getStatus());
+        verify(availabilityIndex).remove(booking);
+    }
+
+    @Test
+    void approveBooking_shouldThrowWhenOverlappingBookingApproved() {
+        User owner = createUser(1L);
+        User booker = createUser(2L);
+        Item item = createItem(1L, owner, true);
+        Booking booking = createBooking(1L, booker, item, BookingStatus.WAITING);
+
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsOtherByItemIdAndTimeRange(item.getId(), booking.getId(),
+                booking.getStart(), booking.getEnd())).thenReturn(true);
+
+        assertThrows(ValidationException.class, () ->
+                bookingService.approveBooking(booking.getId(), owner.getId(), true));
+        verify(bookingRepository, never()).updateStatusIfWaiting(any(), any());
+    }
+
+    @Test
+    void approveBooking_whenDecidedConcurrently_shouldThrowWithoutAdjustingCounters() {
+        User owner = createUser(1L);
+        User booker = createUser(2L);
+        Item item = createItem(1L, owner, true);
+        Booking booking = createBooking(1L, booker, item, BookingStatus.WAITING);
+
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.updateStatusIfWaiting(booking.getId(), BookingStatus.APPROVED)).thenReturn(0);
+
+        assertThrows(ValidationException.class, () ->
+                bookingService.approveBooking(booking.getId(), owner.getId(), true));
+        verify(stateCounters, never()).onStatusChanged(any(), any());
+        verify(availabilityIndex, never()).add(any());
     }
 
     @Test
@@ -320,22 +398,20 @@ class BookingServiceImplTest {
         user.setId(userId);
         when(userService.getUser(userId)).thenReturn(user);
 
-        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start"));
+        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
         LocalDateTime now = LocalDateTime.now();
 
         for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED")) {
             switch (state) {
-                case "ALL" -> when(bookingRepository.findByBookerId(userId, page)).thenReturn(List.of());
-                case "CURRENT" -> when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfter(eq(userId), any(),
-                        any(), eq(page))).thenReturn(List.of());
-                case "PAST" -> when(bookingRepository.findByBookerIdAndEndBefore(eq(userId), any(), eq(page)))
-                        .thenReturn(List.of());
-                case "FUTURE" -> when(bookingRepository.findByBookerIdAndStartAfter(eq(userId), any(), eq(page)))
-                        .thenReturn(List.of());
-                case "WAITING" -> when(bookingRepository.findByBookerIdAndStatus(userId, BookingStatus.WAITING, page))
-                        .thenReturn(List.of());
-                case "REJECTED" -> when(bookingRepository.findByBookerIdAndStatus(userId, BookingStatus.REJECTED, page))
+                case "ALL" -> when(bookingRepository.findViewsByBookerId(userId, page))
                         .thenReturn(List.of());
+                case "CURRENT" -> when(bookingRepository.findCurrentViewsByBookerId(eq(userId), any(), eq(page))).thenReturn(List.of());
+                case "PAST" -> when(bookingRepository.findPastViewsByBookerId(eq(userId), any(), eq(page))).thenReturn(List.of());
+                case "FUTURE" -> when(bookingRepository.findFutureViewsByBookerId(eq(userId), any(), eq(page))).thenReturn(List.of());
+                case "WAITING" -> when(bookingRepository.findViewsByBookerIdAndStatus(userId, BookingStatus.WAITING,
+                        page)).thenReturn(List.of());
+                case "REJECTED" -> when(bookingRepository.findViewsByBookerIdAndStatus(userId,
+                        BookingStatus.REJECTED, page)).thenReturn(List.of());
             }
 
             assertDoesNotThrow(() ->
@@ -356,21 +432,22 @@ class BookingServiceImplTest {
 
         for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED")) {
             switch (state) {
-                case "ALL" -> when(bookingRepository.findByItemOwnerId(eq(owner.getId()), any(PageRequest.class)))
+                case "ALL" -> when(bookingRepository.findViewsByOwnerId(
+                        eq(owner.getId()), any(PageRequest.class)))
                         .thenReturn(List.of());
-                case "CURRENT" -> when(bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfter(
-                        eq(owner.getId()), any(LocalDateTime.class), any(LocalDateTime.class), any(PageRequest.class)))
+                case "CURRENT" -> when(bookingRepository.findCurrentViewsByOwnerId(
+                        eq(owner.getId()), any(LocalDateTime.class), any(PageRequest.class)))
                         .thenReturn(List.of());
-                case "PAST" -> when(bookingRepository.findByItemOwnerIdAndEndBefore(
+                case "PAST" -> when(bookingRepository.findPastViewsByOwnerId(
                         eq(owner.getId()), any(LocalDateTime.class), any(PageRequest.class)))
                         .thenReturn(List.of());
-                case "FUTURE" -> when(bookingRepository.findByItemOwnerIdAndStartAfter(
+                case "FUTURE" -> when(bookingRepository.findFutureViewsByOwnerId(
                         eq(owner.getId()), any(LocalDateTime.class), any(PageRequest.class)))
                         .thenReturn(List.of());
-                case "WAITING" -> when(bookingRepository.findByItemOwnerIdAndStatus(
+                case "WAITING" -> when(bookingRepository.findViewsByOwnerIdAndStatus(
                         eq(owner.getId()), eq(BookingStatus.WAITING), any(PageRequest.class)))
                         .thenReturn(List.of());
-                case "REJECTED" -> when(bookingRepository.findByItemOwnerIdAndStatus(
+                case "REJECTED" -> when(bookingRepository.findViewsByOwnerIdAndStatus(
                         eq(owner.getId()), eq(BookingStatus.REJECTED), any(PageRequest.class)))
                         .thenReturn(List.of());
             }
@@ -384,19 +461,76 @@ class BookingServiceImplTest {
     }
 
 
+    @Test
+    void getUserBookings_shouldSeekPastCursorForAllStates() {
+        User user = createUser(1L);
+        when(userService.getUser(user.getId())).thenReturn(user);
+        LocalDateTime cursorStart = LocalDateTime.of(2030, 1, 1, 10, 0);
+        PageRequest page = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED")) {
+            bookingService.getUserBookings(user.getId(), state, cursorStart, 7L, 5);
+        }
+
+        verify(bookingRepository).findViewsByBookerIdBeforeCursor(user.getId(), cursorStart, 7L, page);
+        verify(bookingRepository).findCurrentViewsByBookerIdBeforeCursor(
+                eq(user.getId()), any(), eq(cursorStart), eq(7L), eq(page));
+        verify(bookingRepository).findPastViewsByBookerIdBeforeCursor(
+                eq(user.getId()), any(), eq(cursorStart), eq(7L), eq(page));
+        verify(bookingRepository).findFutureViewsByBookerIdBeforeCursor(
+                eq(user.getId()), any(), eq(cursorStart), eq(7L), eq(page));
+        verify(bookingRepository).findViewsByBookerIdAndStatusBeforeCursor(
+                user.getId(), BookingStatus.WAITING, cursorStart, 7L, page);
+        verify(bookingRepository).findViewsByBookerIdAndStatusBeforeCursor(
+                user.getId(), BookingStatus.REJECTED, cursorStart, 7L, page);
+        verify(bookingRepository, never()).findViewsByBookerId(any(), any());
+    }
+
+    @Test
+    void getOwnerBookings_shouldSeekPastCursorForAllStates() {
+        User owner = createUser(1L);
+        when(userService.getUser(owner.getId())).thenReturn(owner);
+        LocalDateTime cursorStart = LocalDateTime.of(2030, 1, 1, 10, 0);
+        PageRequest page = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED")) {
+            bookingService.getOwnerBookings(owner.getId(), state, cursorStart, 7L, 5);
+        }
+
+        verify(bookingRepository).findViewsByOwnerIdBeforeCursor(owner.getId(), cursorStart, 7L, page);
+        verify(bookingRepository).findCurrentViewsByOwnerIdBeforeCursor(
+                eq(owner.getId()), any(), eq(cursorStart), eq(7L), eq(page));
+        verify(bookingRepository).findPastViewsByOwnerIdBeforeCursor(
+                eq(owner.getId()), any(), eq(cursorStart), eq(7L), eq(page));
+        verify(bookingRepository).findFutureViewsByOwnerIdBeforeCursor(
+                eq(owner.getId()), any(), eq(cursorStart), eq(7L), eq(page));
+        verify(bookingRepository).findViewsByOwnerIdAndStatusBeforeCursor(
+                owner.getId(), BookingStatus.WAITING, cursorStart, 7L, page);
+        verify(bookingRepository).findViewsByOwnerIdAndStatusBeforeCursor(
+                owner.getId(), BookingStatus.REJECTED, cursorStart, 7L, page);
+        verify(bookingRepository, never()).findViewsByOwnerId(any(), any());
+    }
+
+    @Test
+    void getUserBookings_shouldRejectHalfCursor() {
+        assertThrows(ValidationException.class, () ->
+                bookingService.getUserBookings(1L, "ALL", LocalDateTime.now(), null, 5));
+    }
+
     @Test
     void getUserBookings_shouldUseCorrectSorting() {
         User user = createUser(1L);
         when(userService.getUser(user.getId())).thenReturn(user);
         PageRequest pageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC,
-                "start"));
-        when(bookingRepository.findByBookerId(eq(user.getId()), eq(pageRequest)))
+                "start", "id"));
+        when(bookingRepository.findViewsByBookerId(eq(user.getId()), eq(pageRequest)))
                 .thenReturn(List.of());
 
         bookingService.getUserBookings(user.getId(), "ALL", 0, 10);
 
-        verify(bookingRepository).findByBookerId(eq(user.getId()), argThat(
+        verify(bookingRepository).findViewsByBookerId(eq(user.getId()), argThat(
                 page -> page.getSort().getOrderFor("start").getDirection() == Sort.Direction.DESC
+                        && page.getSort().getOrderFor("id").getDirection() == Sort.Direction.DESC
         ));
     }
 
@@ -405,14 +539,27 @@ class BookingServiceImplTest {
         User owner = createUser(1L);
         when(userService.getUser(owner.getId())).thenReturn(owner);
         PageRequest pageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC,
-                "start"));
-        when(bookingRepository.findByItemOwnerId(eq(owner.getId()), eq(pageRequest)))
+                "start", "id"));
+        when(bookingRepository.findViewsByOwnerId(eq(owner.getId()), eq(pageRequest)))
                 .thenReturn(List.of());
 
         bookingService.getOwnerBookings(owner.getId(), "ALL", 0, 10);
 
-        verify(bookingRepository).findByItemOwnerId(eq(owner.getId()), argThat(
+        verify(bookingRepository).findViewsByOwnerId(eq(owner.getId()), argThat(
                 page -> page.getSort().getOrderFor("start").getDirection() == Sort.Direction.DESC
+                        && page.getSort().getOrderFor("id").getDirection() == Sort.Direction.DESC
         ));
     }
+
+    @Test
+    void getOwnerBookingSummary_shouldReadOwnerCounters() {
+        User owner = createUser(1L);
+        when(userService.getUser(owner.getId())).thenReturn(owner);
+        when(stateCounters.getSummary(owner.getId(), BookingStateCounter.Role.OWNER))
+                .thenReturn(Map.of(BookingState.ALL, 3L));
+
+        Map<BookingState, Long> summary = bookingService.getOwnerBookingSummary(owner.getId());
+
+        assertEquals(3L, summary.get(BookingState.ALL));
+    }
 }
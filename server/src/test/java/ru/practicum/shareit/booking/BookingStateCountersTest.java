@@ -0,0 +1,203 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.TestConfig;
+import ru.practicum.shareit.booking.BookingStateCounter.Role;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(TestConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookingStateCountersTest {
+
+    @Autowired
+    private BookingStateCounters stateCounters;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingStateCounterCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private BookingStateCounterRepository counterRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@example.com");
+        em.persist(owner);
+
+        booker = new User();
+        booker.setName("Booker");
+        booker.setEmail("booker@example.com");
+        em.persist(booker);
+
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        em.persist(item);
+    }
+
+    @Test
+    void rebuild_shouldCountExistingBookingsPerRole() {
+        LocalDateTime now = LocalDateTime.now();
+        persistBooking(now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+        persistBooking(now.minusDays(1), now.plusDays(1), BookingStatus.APPROVED);
+        persistBooking(now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+        persistBooking(now.plusDays(3), now.plusDays(4), BookingStatus.REJECTED);
+
+        stateCounters.rebuild(now);
+
+        Map<BookingState, Long> expected = Map.of(BookingState.ALL, 4L, BookingState.CURRENT, 1L,
+                BookingState.PAST, 1L, BookingState.FUTURE, 2L, BookingState.WAITING, 1L,
+                BookingState.REJECTED, 1L);
+        assertEquals(expected, stateCounters.getSummary(booker.getId(), Role.BOOKER));
+        assertEquals(expected, stateCounters.getSummary(owner.getId(), Role.OWNER));
+    }
+
+    @Test
+    void addAndApproveBooking_shouldUpdateCounters() {
+        Booking first = bookingService.addBooking(newBooking(1), booker.getId());
+        bookingService.addBooking(newBooking(3), booker.getId());
+
+        Map<BookingState, Long> summary = stateCounters.getSummary(owner.getId(), Role.OWNER);
+        assertEquals(2L, summary.get(BookingState.ALL));
+        assertEquals(2L, summary.get(BookingState.WAITING));
+        assertEquals(2L, summary.get(BookingState.FUTURE));
+
+        bookingService.approveBooking(first.getId(), owner.getId(), false);
+
+        summary = stateCounters.getSummary(booker.getId(), Role.BOOKER);
+        assertEquals(2L, summary.get(BookingState.ALL));
+        assertEquals(1L, summary.get(BookingState.WAITING));
+        assertEquals(1L, summary.get(BookingState.REJECTED));
+    }
+
+    @Test
+    void rollForward_shouldMoveBookingsThroughTimeStates() {
+        LocalDateTime now = LocalDateTime.now();
+        stateCounters.rebuild(now);
+        Booking booking = bookingService.addBooking(newBooking(1), booker.getId());
+
+        stateCounters.rollForward(booking.getStart().plusHours(1));
+
+        Map<BookingState, Long> summary = stateCounters.getSummary(booker.getId(), Role.BOOKER);
+        assertEquals(0L, summary.get(BookingState.FUTURE));
+        assertEquals(1L, summary.get(BookingState.CURRENT));
+
+        stateCounters.rollForward(booking.getEnd().plusHours(1));
+
+        summary = stateCounters.getSummary(owner.getId(), Role.OWNER);
+        assertEquals(0L, summary.get(BookingState.CURRENT));
+        assertEquals(1L, summary.get(BookingState.PAST));
+        assertEquals(1L, summary.get(BookingState.ALL));
+    }
+
+    @Test
+    void approveBooking_shouldOnlyLeaveWaitingState() {
+        Booking booking = bookingService.addBooking(newBooking(1), booker.getId());
+
+        bookingService.approveBooking(booking.getId(), owner.getId(), true);
+
+        Map<BookingState, Long> summary = stateCounters.getSummary(booker.getId(), Role.BOOKER);
+        assertEquals(1L, summary.get(BookingState.ALL));
+        assertEquals(0L, summary.get(BookingState.WAITING));
+        assertEquals(0L, summary.get(BookingState.REJECTED));
+        assertEquals(1L, summary.get(BookingState.FUTURE));
+    }
+
+    @Test
+    void onCreated_shouldSeedMissingCountersOnce() {
+        Booking booking = bookingService.addBooking(newBooking(1), booker.getId());
+        counterRepository.insertIfAbsent(booker.getId(), Role.BOOKER, BookingState.ALL);
+
+        stateCounters.onCreated(booking);
+
+        assertEquals(2L, stateCounters.getSummary(booker.getId(), Role.BOOKER).get(BookingState.ALL));
+        assertEquals(BookingState.values().length, counterRepository.findTotals(booker.getId(), Role.BOOKER).size());
+    }
+
+    @Test
+    void rebuild_shouldOverwriteDriftedTotalsAndStoreCheckpoint() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingService.addBooking(newBooking(1), booker.getId());
+        counterRepository.adjust(booker.getId(), Role.BOOKER, List.of(BookingState.ALL), List.of(BookingState.ALL));
+
+        stateCounters.rebuild(now);
+
+        assertEquals(1L, stateCounters.getSummary(booker.getId(), Role.BOOKER).get(BookingState.ALL));
+        assertEquals(now, checkpointRepository.findById(BookingStateCounterCheckpoint.ID).orElseThrow().getRolledTo());
+    }
+
+    @Test
+    void rollForward_shouldRebuildWhenNoCheckpointIsStored() {
+        LocalDateTime now = LocalDateTime.now();
+        checkpointRepository.save(new BookingStateCounterCheckpoint(BookingStateCounterCheckpoint.ID, null));
+        persistBooking(now.minusDays(1), now.plusDays(1), BookingStatus.APPROVED);
+
+        stateCounters.rollForward(now);
+
+        assertEquals(1L, stateCounters.getSummary(owner.getId(), Role.OWNER).get(BookingState.CURRENT));
+        assertEquals(now, checkpointRepository.findById(BookingStateCounterCheckpoint.ID).orElseThrow().getRolledTo());
+    }
+
+    @Test
+    void rollForward_shouldIgnoreMomentsBeforeCheckpoint() {
+        LocalDateTime now = LocalDateTime.now();
+        stateCounters.rebuild(now);
+
+        stateCounters.rollForward(now.minusMinutes(5));
+
+        assertEquals(now, checkpointRepository.findById(BookingStateCounterCheckpoint.ID).orElseThrow().getRolledTo());
+    }
+
+    @Test
+    void getSummary_shouldReturnZerosForUserWithoutBookings() {
+        Map<BookingState, Long> summary = stateCounters.getSummary(owner.getId(), Role.BOOKER);
+
+        assertEquals(BookingState.values().length, summary.size());
+        summary.values().forEach(total -> assertEquals(0L, total));
+    }
+
+    private Booking newBooking(int daysAhead) {
+        Booking booking = new Booking();
+        booking.setStart(LocalDateTime.now().plusDays(daysAhead));
+        booking.setEnd(LocalDateTime.now().plusDays(daysAhead + 1));
+        booking.setItem(item);
+        return booking;
+    }
+
+    private void persistBooking(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        em.persist(booking);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Runs {@link BookingConcurrencyStressTest} against PostgreSQL with bookings serialized by
+ * {@link AdvisoryBookingItemLock}, the lock production uses.
+ */
+@DataJpaTest(properties = "shareit.booking.item-lock=advisory")
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresBookingConcurrencyStressTest extends BookingConcurrencyStressTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @Autowired
+    private BookingItemLock itemLock;
+
+    @Test
+    void itemLock_shouldBeAdvisory() {
+        assertInstanceOf(AdvisoryBookingItemLock.class, itemLock);
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedBookingItemLockTest {
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(
+            new DataSourceTransactionManager(new DriverManagerDataSource("jdbc:h2:mem:striped-lock")));
+
+    private final StripedBookingItemLock itemLock = new StripedBookingItemLock(transactionTemplate);
+
+    @Test
+    void withItemLock_shouldHoldLockUntilSurroundingTransactionCompletes() throws Exception {
+        CountDownLatch acquired = new CountDownLatch(1);
+
+        CompletableFuture<?> contender = transactionTemplate.execute(status -> {
+            itemLock.withItemLock(1L, () -> "first");
+            CompletableFuture<?> other = CompletableFuture.runAsync(() ->
+                    itemLock.withItemLock(1L, () -> {
+                        acquired.countDown();
+                        return "second";
+                    }));
+            try {
+                assertFalse(acquired.await(200, TimeUnit.MILLISECONDS), "Lock released before commit");
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return other;
+        });
+
+        assertTrue(acquired.await(5, TimeUnit.SECONDS), "Lock not released after commit");
+        contender.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void withItemLock_shouldReleaseLockWhenActionFails() throws Exception {
+        assertThrows(IllegalStateException.class, () -> itemLock.withItemLock(2L, () -> {
+            throw new IllegalStateException("overlap");
+        }));
+
+        assertEquals("next", CompletableFuture.supplyAsync(() -> itemLock.withItemLock(2L, () -> "next"))
+                .get(5, TimeUnit.SECONDS));
+    }
+}
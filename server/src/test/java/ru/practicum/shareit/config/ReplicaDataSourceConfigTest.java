@@ -0,0 +1,128 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.ItemServiceImpl;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaDataSourceConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+                    HibernateJpaAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+                    TransactionAutoConfiguration.class))
+            .withUserConfiguration(ReplicaDataSourceConfig.class)
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:primarydb");
+
+    @Test
+    void withoutReplicaUrl_shouldKeepAutoConfiguredDataSource() {
+        contextRunner.run(context -> {
+            assertFalse(context.containsBean("replicaDataSource"));
+            assertFalse(context.getBean(DataSource.class) instanceof LazyConnectionDataSourceProxy);
+        });
+    }
+
+    @Test
+    void withReplicaUrl_shouldRouteOnlyReplicaReadTransactionsToReplica() {
+        contextRunner
+                .withPropertyValues("shareit.datasource.replica.jdbc-url=jdbc:h2:mem:replicadb")
+                .run(context -> {
+                    assertInstanceOf(LazyConnectionDataSourceProxy.class, context.getBean(DataSource.class));
+                    PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+                    JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+                    TransactionTemplate write = new TransactionTemplate(transactionManager);
+
+                    assertEquals("PRIMARYDB", write.execute(status -> currentDatabase(jdbcTemplate)));
+                    assertEquals("PRIMARYDB", inTransaction(transactionManager, attribute(false),
+                            () -> currentDatabase(jdbcTemplate)));
+                    assertEquals("REPLICADB", inTransaction(transactionManager, attribute(true),
+                            () -> currentDatabase(jdbcTemplate)));
+                    assertEquals("PRIMARYDB", write.execute(status -> inTransaction(transactionManager,
+                            attribute(true), () -> currentDatabase(jdbcTemplate))));
+                    assertEquals("PRIMARYDB", currentDatabase(jdbcTemplate));
+                });
+    }
+
+    @Test
+    void withReplicaUrl_shouldExportReplicaLag() {
+        contextRunner
+                .withPropertyValues("shareit.datasource.replica.jdbc-url=jdbc:h2:mem:lagdb",
+                        "shareit.datasource.replica-lag-query=SELECT 1.5")
+                .run(context -> {
+                    MeterRegistry registry = new SimpleMeterRegistry();
+                    context.getBean(ReplicaLagMetrics.class).bindTo(registry);
+
+                    assertEquals(1.5, registry.get("shareit.datasource.replica.lag").gauge().value());
+                });
+    }
+
+    @Test
+    void replicaLag_shouldBeNaNWhenReplicaCannotBeQueried() {
+        contextRunner
+                .withPropertyValues("shareit.datasource.replica.jdbc-url=jdbc:h2:mem:nolagdb")
+                .run(context -> assertEquals(Double.NaN, context.getBean(ReplicaLagMetrics.class).lagSeconds()));
+    }
+
+    @Test
+    void replicaRead_shouldOverrideClassLevelTransactionOnListingsOnly() throws Exception {
+        AnnotationTransactionAttributeSource source = new AnnotationTransactionAttributeSource();
+
+        TransactionAttribute search = source.getTransactionAttribute(
+                ItemServiceImpl.class.getMethod("searchItems", String.class, Integer.class, Integer.class),
+                ItemServiceImpl.class);
+        TransactionAttribute getItem = source.getTransactionAttribute(
+                ItemServiceImpl.class.getMethod("getItem", Long.class, Long.class), ItemServiceImpl.class);
+
+        assertTrue(search.isReadOnly());
+        assertTrue(search.getLabels().contains(ReplicaRead.LABEL));
+        assertTrue(getItem.isReadOnly());
+        assertFalse(getItem.getLabels().contains(ReplicaRead.LABEL));
+    }
+
+    private static String inTransaction(PlatformTransactionManager transactionManager,
+                                        TransactionDefinition definition, Supplier<String> action) {
+        TransactionStatus status = transactionManager.getTransaction(definition);
+        try {
+            return action.get();
+        } finally {
+            transactionManager.commit(status);
+        }
+    }
+
+    private static DefaultTransactionAttribute attribute(boolean replica) {
+        DefaultTransactionAttribute attribute = new DefaultTransactionAttribute();
+        attribute.setReadOnly(true);
+        if (replica) {
+            attribute.setLabels(List.of(ReplicaRead.LABEL));
+        }
+        return attribute;
+    }
+
+    private static String currentDatabase(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class).toUpperCase();
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(VirtualThreadConfig.class);
+
+    @Test
+    void onPlatformThreads_shouldNotStartPinningMonitor() {
+        contextRunner.run(context -> assertFalse(context.containsBean("virtualThreadPinningMonitor")));
+    }
+
+    @Test
+    void pinningMonitorDisabled_shouldNotStartPinningMonitor() {
+        contextRunner
+                .withPropertyValues("spring.threads.virtual.enabled=true",
+                        "shareit.virtual-threads.pinning-monitor.enabled=false")
+                .run(context -> assertFalse(context.containsBean("virtualThreadPinningMonitor")));
+    }
+
+    @Test
+    void onVirtualThreads_shouldRecordPinnedVirtualThreads() {
+        contextRunner
+                .withPropertyValues("spring.threads.virtual.enabled=true",
+                        "shareit.virtual-threads.pinning-monitor.threshold=PT0S")
+                .run(context -> {
+                    MeterRegistry registry = new SimpleMeterRegistry();
+                    context.getBean(VirtualThreadPinningMonitor.class).bindTo(registry);
+                    Timer pinned = registry.get("jvm.threads.virtual.pinned").timer();
+
+                    Object monitor = new Object();
+                    long deadline = System.nanoTime() + 15_000_000_000L;
+                    while (pinned.count() == 0 && System.nanoTime() < deadline) {
+                        Thread.ofVirtual().start(() -> {
+                            synchronized (monitor) {
+                                sleep(20);
+                            }
+                        }).join();
+                        Thread.sleep(100);
+                    }
+
+                    assertTrue(pinned.count() > 0);
+                });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -89,4 +90,12 @@ class ErrorHandlerTest {
 
         assertEquals("Forbidden", response.getError());
     }
-}
\ No newline at end of file
+
+    @Test
+    void handleCannotCreateTransactionException_shouldReturn503() {
+        ErrorResponse response = errorHandler.handleCannotCreateTransactionException(
+                new CannotCreateTransactionException("Connection is not available"));
+
+        assertEquals("Database unavailable", response.getError());
+    }
+}
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InvertedIndexItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private InvertedIndexItemSearchEngine engine;
+
+    private Item createItem(Long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    void setUp() {
+        engine = new InvertedIndexItemSearchEngine(itemRepository);
+    }
+
+    @Test
+    void search_shouldFallBackToRepositoryWhenCold() {
+        Pageable page = PageRequest.of(0, 10);
+        when(itemRepository.searchAvailableItems("drill", page)).thenReturn(Collections.emptyList());
+
+        assertFalse(engine.isWarm());
+        engine.search("drill", page);
+
+        verify(itemRepository).searchAvailableItems("drill", page);
+    }
+
+    @Test
+    void search_shouldMatchSubstringsCaseInsensitively() {
+        when(itemRepository.findAll()).thenReturn(List.of(
+                createItem(1L, "Power Drill", "Cordless", true),
+                createItem(2L, "Hammer", "Steel hammer for DRILLING walls", true),
+                createItem(3L, "Saw", "Hand saw", true)));
+        engine.warmUp();
+
+        assertTrue(engine.isWarm());
+        assertEquals(List.of(1L, 2L), ids(engine.search("dRiL", Pageable.unpaged())));
+        assertEquals(List.of(3L), ids(engine.search("aw", Pageable.unpaged())));
+        assertTrue(engine.search("wrench", Pageable.unpaged()).isEmpty());
+    }
+
+    @Test
+    void search_shouldSkipUnavailableItems() {
+        when(itemRepository.findAll()).thenReturn(List.of(
+                createItem(1L, "Drill", "Drill", false),
+                createItem(2L, "Drill", "Drill", true)));
+        engine.warmUp();
+
+        assertEquals(List.of(2L), ids(engine.search("drill", Pageable.unpaged())));
+    }
+
+    @Test
+    void search_shouldApplyPagination() {
+        when(itemRepository.findAll()).thenReturn(List.of(
+                createItem(1L, "Drill 1", "Drill", true),
+                createItem(2L, "Drill 2", "Drill", true),
+                createItem(3L, "Drill 3", "Drill", true)));
+        engine.warmUp();
+
+        assertEquals(List.of(2L), ids(engine.search("drill", PageRequest.of(1, 1))));
+        assertEquals(List.of(3L), ids(engine.search("drill", PageRequest.of(1, 2))));
+    }
+
+    @Test
+    void index_shouldReplacePreviousTokensAndAvailability() {
+        when(itemRepository.findAll()).thenReturn(List.of(createItem(1L, "Drill", "Drill", true)));
+        engine.warmUp();
+
+        engine.index(createItem(1L, "Ladder", "Tall ladder", true));
+        assertTrue(engine.search("drill", Pageable.unpaged()).isEmpty());
+        assertEquals(List.of(1L), ids(engine.search("ladder", Pageable.unpaged())));
+
+        engine.index(createItem(1L, "Ladder", "Tall ladder", false));
+        assertTrue(engine.search("ladder", Pageable.unpaged()).isEmpty());
+    }
+
+    @Test
+    void search_shouldRebuildItemsFromIndex() {
+        Item item = createItem(5L, "Tent", "Camping tent", true);
+        ItemRequest request = new ItemRequest();
+        request.setId(7L);
+        item.setRequest(request);
+        when(itemRepository.findAll()).thenReturn(Collections.emptyList());
+        engine.warmUp();
+        engine.index(item);
+
+        Item found = engine.search("camp", Pageable.unpaged()).get(0);
+
+        assertEquals(5L, found.getId());
+        assertEquals("Tent", found.getName());
+        assertEquals("Camping tent", found.getDescription());
+        assertTrue(found.getAvailable());
+        assertEquals(7L, found.getRequest().getId());
+    }
+
+    @Test
+    void warmUp_shouldNotOverwriteItemsIndexedByLaterWrites() {
+        engine.index(createItem(1L, "Cordless drill", "Updated after the snapshot", true));
+        when(itemRepository.findAll()).thenReturn(List.of(
+                createItem(1L, "Hammer", "Stale snapshot", true),
+                createItem(2L, "Saw", "Hand saw", true)));
+        engine.warmUp();
+
+        assertEquals(List.of(1L), ids(engine.search("drill", Pageable.unpaged())));
+        assertTrue(engine.search("hammer", Pageable.unpaged()).isEmpty());
+        assertEquals(List.of(2L), ids(engine.search("saw", Pageable.unpaged())));
+    }
+
+    @Test
+    void index_shouldApplyOnlyAfterCommitInsideTransaction() {
+        when(itemRepository.findAll()).thenReturn(Collections.emptyList());
+        engine.warmUp();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.index(createItem(1L, "Drill", "Cordless", true));
+
+            assertTrue(engine.search("drill", Pageable.unpaged()).isEmpty());
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            assertEquals(List.of(1L), ids(engine.search("drill", Pageable.unpaged())));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
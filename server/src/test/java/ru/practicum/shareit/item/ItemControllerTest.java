@@ -22,7 +22,6 @@ import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -132,7 +131,7 @@ class ItemControllerTest {
     @Test
     void searchItems_shouldReturnMatchingItems() throws Exception {
         Item item = new Item();
-        Mockito.when(itemService.searchItems(anyString())).thenReturn(List.of(item));
+        Mockito.when(itemService.searchItems("test", 0, 10)).thenReturn(List.of(item));
         Mockito.when(itemMapper.toDto(any(Item.class))).thenReturn(itemDto);
 
         mockMvc.perform(get("/items/search")
@@ -142,6 +141,20 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1L));
     }
 
+    @Test
+    void searchItems_shouldPassPaginationToService() throws Exception {
+        Mockito.when(itemService.searchItems("test", 20, 5)).thenReturn(List.of());
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "test")
+                        .param("from", "20")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        Mockito.verify(itemService).searchItems("test", 20, 5);
+    }
+
     @Test
     void addComment_shouldReturnCreatedComment() throws Exception {
         Comment comment = new Comment();
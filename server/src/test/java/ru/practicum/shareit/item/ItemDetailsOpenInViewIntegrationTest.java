@@ -0,0 +1,126 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Sends concurrent {@code GET /items/{id}} requests through the full MVC stack, where open-in-view keeps a
+ * connection per request, against a pool with fewer connections than requests. The details lookups must not
+ * need a second connection while the request holds its first.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.hikari.maximum-pool-size=" + ItemDetailsOpenInViewIntegrationTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=2000"
+})
+class ItemDetailsOpenInViewIntegrationTest {
+    static final int POOL_SIZE = 2;
+
+    private static final int REQUESTS = POOL_SIZE * 4;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ItemDetailsLoader itemDetailsLoader;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "osiv-owner@example.com"));
+        User booker = userRepository.save(new User(null, "Booker", "osiv-booker@example.com"));
+
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+
+        Booking booking = new Booking();
+        booking.setStart(LocalDateTime.now().minusDays(2));
+        booking.setEnd(LocalDateTime.now().minusDays(1));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.APPROVED);
+        bookingRepository.save(booking);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getItem_withDefaultLoaderAndOpenInView_shouldNotExhaustPool() throws Exception {
+        assertInstanceOf(SequentialItemDetailsLoader.class, itemDetailsLoader);
+
+        for (int status : sendConcurrently()) {
+            assertEquals(200, status);
+        }
+    }
+
+    private List<Integer> sendConcurrently() throws Exception {
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(REQUESTS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                results.add(callers.submit(() -> {
+                    ready.await();
+                    return mvc.perform(get("/items/{itemId}", item.getId())
+                                    .header("X-Sharer-User-Id", owner.getId()))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            ready.countDown();
+
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> result : results) {
+                statuses.add(result.get(30, TimeUnit.SECONDS));
+            }
+            return statuses;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
@@ -118,7 +118,7 @@ class ItemServiceImplIntegrationTest {
         unavailableItem.setOwner(owner);
         itemRepository.save(unavailableItem);
 
-        List<Item> foundItems = itemService.searchItems("test");
+        List<Item> foundItems = itemService.searchItems("test", 0, 10);
 
         assertEquals(1, foundItems.size());
         assertEquals(item.getName(), foundItems.get(0).getName());
@@ -1,11 +1,14 @@
 package ru.practicum.shareit.item;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -23,6 +26,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -35,6 +39,7 @@ import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class ItemServiceImplTest {
+    private static final int MAX_SEARCH_PAGE_SIZE = 25;
 
     @Mock
     private ItemRepository itemRepository;
@@ -51,9 +56,20 @@ class ItemServiceImplTest {
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private ItemDetailsLoader itemDetailsLoader;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(itemService, "maxSearchPageSize", MAX_SEARCH_PAGE_SIZE);
+    }
+
     private Item createTestItem(Long id, String name, String description, Boolean available, User owner,
                                 ItemRequest request) {
         Item item = new Item();
@@ -97,6 +113,7 @@ class ItemServiceImplTest {
 
         assertEquals(savedItem, result);
         verify(itemRepository).save(item);
+        verify(itemSearchEngine).index(savedItem);
     }
 
     @Test
@@ -155,6 +172,7 @@ class ItemServiceImplTest {
         assertEquals("New", result.getName());
         assertEquals("Old Desc", result.getDescription());
         assertTrue(result.getAvailable());
+        verify(itemSearchEngine).index(result);
     }
 
     @Test
@@ -186,31 +204,24 @@ class ItemServiceImplTest {
         Item item = createTestItem(1L, "Item", "Desc", true, owner, null);
 
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(bookingRepository.findLastBooking(eq(1L), any())).thenReturn(Collections.emptyList());
-        when(bookingRepository.findNextBooking(eq(1L), any())).thenReturn(Collections.emptyList());
-        when(commentRepository.findByItemId(1L)).thenReturn(Collections.emptyList());
 
         Item result = itemService.getItem(1L, 1L);
 
         assertEquals(item, result);
-        verify(bookingRepository).findLastBooking(eq(1L), any());
-        verify(bookingRepository).findNextBooking(eq(1L), any());
+        verify(itemDetailsLoader).loadDetails(item, true);
     }
 
     @Test
     void getItem_shouldReturnItemWithoutBookingsForNonOwner() {
         User owner = createTestUser(1L, "Owner", "owner@example.com");
-        User otherUser = createTestUser(2L, "Other", "other@example.com");
         Item item = createTestItem(1L, "Item", "Desc", true, owner, null);
 
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(commentRepository.findByItemId(1L)).thenReturn(Collections.emptyList());
 
         Item result = itemService.getItem(1L, 2L);
 
         assertEquals(item, result);
-        verify(bookingRepository, never()).findLastBooking(anyLong(), any());
-        verify(bookingRepository, never()).findNextBooking(anyLong(), any());
+        verify(itemDetailsLoader).loadDetails(item, false);
     }
 
     @Test
@@ -220,32 +231,81 @@ class ItemServiceImplTest {
         Item item2 = createTestItem(2L, "Item2", "Desc2", true, owner, null);
         PageRequest page = PageRequest.of(0, 10);
 
+        Booking lastBooking = new Booking();
+        lastBooking.setId(10L);
+        lastBooking.setItem(item1);
+        Booking nextBooking = new Booking();
+        nextBooking.setId(11L);
+        nextBooking.setItem(item2);
+        Comment comment = new Comment();
+        comment.setId(20L);
+        comment.setItem(item2);
+
         when(itemRepository.findByOwnerId(1L, page)).thenReturn(List.of(item1, item2));
-        when(bookingRepository.findLastBooking(anyLong(), any())).thenReturn(Collections.emptyList());
-        when(bookingRepository.findNextBooking(anyLong(), any())).thenReturn(Collections.emptyList());
-        when(commentRepository.findByItemId(anyLong())).thenReturn(Collections.emptyList());
+        when(bookingRepository.findLastBookings(eq(List.of(1L, 2L)), any())).thenReturn(List.of(lastBooking));
+        when(bookingRepository.findNextBookings(eq(List.of(1L, 2L)), any())).thenReturn(List.of(nextBooking));
+        when(commentRepository.findByItemIdIn(List.of(1L, 2L))).thenReturn(List.of(comment));
 
         List<Item> result = itemService.getUserItems(1L, 0, 10);
 
         assertEquals(2, result.size());
-        verify(bookingRepository, times(2)).findLastBooking(anyLong(), any());
-        verify(commentRepository, times(2)).findByItemId(anyLong());
+        assertEquals(lastBooking, result.get(0).getLastBooking());
+        assertNull(result.get(0).getNextBooking());
+        assertTrue(result.get(0).getComments().isEmpty());
+        assertNull(result.get(1).getLastBooking());
+        assertEquals(nextBooking, result.get(1).getNextBooking());
+        assertEquals(List.of(comment), result.get(1).getComments());
+        verify(bookingRepository, times(1)).findLastBookings(any(), any());
+        verify(bookingRepository, times(1)).findNextBookings(any(), any());
+        verify(commentRepository, times(1)).findByItemIdIn(any());
+        verify(bookingRepository, never()).findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
+                anyLong(), any(), any());
+        verify(commentRepository, never()).findByItemId(anyLong());
+    }
+
+    @Test
+    void getUserItems_shouldSkipEnrichmentWhenNoItems() {
+        when(itemRepository.findByOwnerId(1L, PageRequest.of(0, 10))).thenReturn(Collections.emptyList());
+
+        List<Item> result = itemService.getUserItems(1L, 0, 10);
+
+        assertTrue(result.isEmpty());
+        verify(bookingRepository, never()).findLastBookings(any(), any());
+        verify(commentRepository, never()).findByItemIdIn(any());
     }
 
     @Test
     void searchItems_shouldReturnEmptyListForBlankText() {
-        List<Item> result = itemService.searchItems("   ");
+        List<Item> result = itemService.searchItems("   ", 0, 10);
         assertTrue(result.isEmpty());
     }
 
     @Test
     void searchItems_shouldReturnAvailableItems() {
-        when(itemRepository.searchAvailableItems("query")).thenReturn(List.of(new Item()));
+        when(itemSearchEngine.search("query", PageRequest.of(2, 10))).thenReturn(List.of(new Item()));
 
-        List<Item> result = itemService.searchItems("query");
+        List<Item> result = itemService.searchItems("query", 20, 10);
         assertEquals(1, result.size());
     }
 
+    @Test
+    void searchItems_shouldCapPageSizeAtConfiguredMaximum() {
+        when(itemSearchEngine.search("query", PageRequest.of(2, MAX_SEARCH_PAGE_SIZE)))
+                .thenReturn(Collections.emptyList());
+
+        List<Item> result = itemService.searchItems("query", 2 * MAX_SEARCH_PAGE_SIZE, 10_000);
+
+        assertTrue(result.isEmpty());
+        verify(itemSearchEngine).search("query", PageRequest.of(2, MAX_SEARCH_PAGE_SIZE));
+    }
+
+    @Test
+    void searchItems_belowConfiguredMaximum_shouldKeepRequestedPageSize() {
+        itemService.searchItems("query", 0, MAX_SEARCH_PAGE_SIZE);
+
+        verify(itemSearchEngine).search("query", PageRequest.of(0, MAX_SEARCH_PAGE_SIZE));
+    }
+
     @Test
     void addComment_shouldSaveComment() {
         User author = createTestUser(1L, "Author", "author@example.com");
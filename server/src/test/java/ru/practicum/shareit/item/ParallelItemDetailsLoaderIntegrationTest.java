@@ -0,0 +1,129 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.TestConfig;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@Import(TestConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "shareit.item.details-loader.mode=parallel",
+        "spring.jpa.open-in-view=false"
+})
+class ParallelItemDetailsLoaderIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemMapper itemMapper;
+
+    @Autowired
+    private ItemDetailsLoader itemDetailsLoader;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking lastBooking;
+    private Booking nextBooking;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "owner@example.com"));
+        booker = userRepository.save(new User(null, "Booker", "booker@example.com"));
+
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+
+        LocalDateTime now = LocalDateTime.now();
+        lastBooking = bookingRepository.save(newBooking(now.minusDays(2), now.minusDays(1)));
+        nextBooking = bookingRepository.save(newBooking(now.plusDays(1), now.plusDays(2)));
+
+        Comment comment = new Comment();
+        comment.setText("Works well");
+        comment.setItem(item);
+        comment.setAuthor(booker);
+        comment.setCreated(now);
+        commentRepository.save(comment);
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getItem_forOwner_shouldLoadBookingsAndCommentsInParallel() {
+        assertInstanceOf(ParallelItemDetailsLoader.class, itemDetailsLoader);
+
+        Item found = itemService.getItem(item.getId(), owner.getId());
+        ItemDto dto = itemMapper.toDto(found);
+
+        assertEquals(lastBooking.getId(), found.getLastBooking().getId());
+        assertEquals(nextBooking.getId(), found.getNextBooking().getId());
+        assertEquals(1, dto.getComments().size());
+        assertEquals("Booker", dto.getComments().get(0).getAuthorName());
+    }
+
+    @Test
+    void getItem_forOtherUser_shouldOnlyLoadComments() {
+        Item found = itemService.getItem(item.getId(), booker.getId());
+
+        assertNull(found.getLastBooking());
+        assertNull(found.getNextBooking());
+        assertEquals(1, found.getComments().size());
+    }
+
+    private Booking newBooking(LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.APPROVED);
+        return booking;
+    }
+}
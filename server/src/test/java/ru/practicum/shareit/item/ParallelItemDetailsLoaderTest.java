@@ -0,0 +1,124 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelItemDetailsLoaderTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ParallelItemDetailsLoader loader;
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        loader = new ParallelItemDetailsLoader(bookingRepository, commentRepository, transactionManager, 3, false);
+        item = new Item();
+        item.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.destroy();
+    }
+
+    @Test
+    void constructor_withOpenInView_shouldThrow() {
+        assertThrows(IllegalStateException.class, () ->
+                new ParallelItemDetailsLoader(bookingRepository, commentRepository, transactionManager, 3, true));
+    }
+
+    @Test
+    void loadDetails_withBookings_shouldRunLookupsConcurrently() {
+        Booking last = new Booking();
+        Booking next = new Booking();
+        List<Comment> comments = List.of(new Comment());
+        CountDownLatch allStarted = new CountDownLatch(3);
+
+        when(bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
+                eq(1L), eq(BookingStatus.APPROVED), any())).thenAnswer(invocation -> {
+                    awaitOthers(allStarted);
+                    return Optional.of(last);
+                });
+        when(bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                eq(1L), eq(BookingStatus.APPROVED), any())).thenAnswer(invocation -> {
+                    awaitOthers(allStarted);
+                    return Optional.of(next);
+                });
+        when(commentRepository.findByItemId(1L)).thenAnswer(invocation -> {
+            awaitOthers(allStarted);
+            return comments;
+        });
+
+        loader.loadDetails(item, true);
+
+        assertEquals(last, item.getLastBooking());
+        assertEquals(next, item.getNextBooking());
+        assertEquals(comments, item.getComments());
+    }
+
+    @Test
+    void loadDetails_withoutBookings_shouldOnlyLoadComments() {
+        when(commentRepository.findByItemId(1L)).thenReturn(List.of());
+
+        loader.loadDetails(item, false);
+
+        assertNull(item.getLastBooking());
+        assertNull(item.getNextBooking());
+        assertEquals(List.of(), item.getComments());
+        verify(bookingRepository, never()).findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
+                anyLong(), any(), any());
+    }
+
+    @Test
+    void loadDetails_whenLookupFails_shouldRethrowItsException() {
+        when(commentRepository.findByItemId(1L)).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> loader.loadDetails(item, false));
+    }
+
+    /**
+     * Only returns once all three lookups are running at the same time, so a sequential loader would time out.
+     */
+    private static void awaitOthers(CountDownLatch allStarted) throws InterruptedException {
+        allStarted.countDown();
+        if (!allStarted.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Lookups did not run concurrently");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.TestConfig;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "shareit.item.search.engine=postgres")
+@Import({TestConfig.class, PostgresItemSearchEngine.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresItemSearchEngineTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @Autowired
+    private PostgresItemSearchEngine searchEngine;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@example.com");
+        em.persist(owner);
+    }
+
+    private Item createItem(String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        return em.persist(item);
+    }
+
+    @Test
+    void search_shouldRankWholeWordMatchesFirstAndSkipUnavailableItems() {
+        Item partial = createItem("Drillbits", "Assorted bits", true);
+        Item exact = createItem("Drill", "Cordless drill", true);
+        createItem("Drill press", "Bench drill", false);
+        createItem("Hammer", "Claw hammer", true);
+        em.flush();
+
+        List<Item> result = searchEngine.search("DRILL", PageRequest.of(0, 10));
+
+        assertEquals(List.of(exact.getId(), partial.getId()), result.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void search_shouldBeServedByTrigramIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename = 'items' AND indexname LIKE '%_trgm'", String.class);
+        assertEquals(List.of("idx_items_description_trgm", "idx_items_name_trgm"), indexes.stream().sorted().toList());
+
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT * FROM items i " +
+                "WHERE i.available = true " +
+                "AND (LOWER(i.name) LIKE '%' || LOWER('drill') || '%' " +
+                "OR LOWER(i.description) LIKE '%' || LOWER('drill') || '%')", String.class));
+
+        assertTrue(plan.contains("idx_items_name_trgm"), plan);
+        assertTrue(plan.contains("idx_items_description_trgm"), plan);
+    }
+}
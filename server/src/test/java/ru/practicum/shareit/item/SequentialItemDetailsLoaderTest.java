@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SequentialItemDetailsLoaderTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @InjectMocks
+    private SequentialItemDetailsLoader loader;
+
+    @Test
+    void loadDetails_withBookings_shouldSetLastAndNextBookingAndComments() {
+        Item item = new Item();
+        item.setId(1L);
+        Booking last = new Booking();
+        Booking next = new Booking();
+        List<Comment> comments = List.of(new Comment());
+
+        when(bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
+                eq(1L), eq(BookingStatus.APPROVED), any())).thenReturn(Optional.of(last));
+        when(bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                eq(1L), eq(BookingStatus.APPROVED), any())).thenReturn(Optional.of(next));
+        when(commentRepository.findByItemId(1L)).thenReturn(comments);
+
+        loader.loadDetails(item, true);
+
+        assertEquals(last, item.getLastBooking());
+        assertEquals(next, item.getNextBooking());
+        assertEquals(comments, item.getComments());
+    }
+
+    @Test
+    void loadDetails_withoutBookings_shouldOnlyLoadComments() {
+        Item item = new Item();
+        item.setId(1L);
+
+        when(commentRepository.findByItemId(1L)).thenReturn(List.of());
+
+        loader.loadDetails(item, false);
+
+        assertNull(item.getLastBooking());
+        assertEquals(List.of(), item.getComments());
+        verify(bookingRepository, never()).findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
+                anyLong(), any(), any());
+        verify(bookingRepository, never()).findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                anyLong(), any(), any());
+    }
+}
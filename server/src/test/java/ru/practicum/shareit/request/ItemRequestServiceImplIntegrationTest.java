@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -153,4 +155,40 @@ class ItemRequestServiceImplIntegrationTest {
 
         assertTrue(foundRequest.getItems().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserRequests_shouldLoadItemsForAllRequestsInSingleQuery() {
+        for (int i = 0; i < 20; i++) {
+            ItemRequest savedRequest = new ItemRequest();
+            savedRequest.setDescription("Request " + i);
+            savedRequest.setRequester(requester);
+            savedRequest.setCreated(LocalDateTime.now().minusMinutes(i));
+            em.persist(savedRequest);
+
+            Item item = new Item();
+            item.setName("Item " + i);
+            item.setDescription("For request " + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            item.setRequest(savedRequest);
+            em.persist(item);
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<ItemRequestDto> userRequests = itemRequestService.getUserRequests(requester.getId());
+        List<ItemRequestDto> otherRequests = itemRequestService.getOtherUsersRequests(owner.getId(), 0, 10);
+
+        assertEquals(20, userRequests.size());
+        assertTrue(userRequests.stream().allMatch(dto -> dto.getItems().size() == 1));
+        assertEquals(10, otherRequests.size());
+        assertTrue(otherRequests.stream().allMatch(dto -> dto.getItems().size() == 1));
+        assertEquals(6, statistics.getQueryExecutionCount(),
+                "Expected user check, requests query and items query per listing");
+    }
+}
@@ -0,0 +1,177 @@
+package ru.practicum.shareit.schema;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Explains the SQL the repositories actually emit against a populated, analyzed schema. H2 backs every foreign
+ * key with its own index while PostgreSQL does not, so the foreign keys are dropped first and the planner only
+ * sees the indexes the migrations ship.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.schema.QueryIndexUsageTest$SqlCapture")
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS, statements = {
+    "ALTER TABLE items DROP CONSTRAINT fk_item_owner",
+    "ALTER TABLE items DROP CONSTRAINT fk_item_request",
+    "ALTER TABLE bookings DROP CONSTRAINT fk_booking_item",
+    "ALTER TABLE bookings DROP CONSTRAINT fk_booking_booker",
+    "ALTER TABLE comments DROP CONSTRAINT fk_comment_item",
+    "ALTER TABLE comments DROP CONSTRAINT fk_comment_author",
+    "ALTER TABLE requests DROP CONSTRAINT fk_request_requester",
+    "INSERT INTO users (name, email) SELECT 'user' || X, 'user' || X || '@example.com' FROM SYSTEM_RANGE(1, 200)",
+    "INSERT INTO requests (description, requester_id, created) "
+            + "SELECT 'request', 1 + MOD(X, 200), DATEADD('HOUR', -X, CURRENT_TIMESTAMP) FROM SYSTEM_RANGE(1, 2000)",
+    "INSERT INTO items (name, description, available, owner_id, request_id) "
+            + "SELECT 'item', 'description', TRUE, 1 + MOD(X, 200), CASEWHEN(MOD(X, 4) = 0, 1 + MOD(X, 2000), NULL) "
+            + "FROM SYSTEM_RANGE(1, 2000)",
+    "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+            + "SELECT DATEADD('DAY', MOD(X, 400) - 200, CURRENT_TIMESTAMP), "
+            + "DATEADD('DAY', MOD(X, 400) - 198, CURRENT_TIMESTAMP), 1 + MOD(X, 2000), 1 + MOD(X * 7, 200), "
+            + "CASE MOD(X, 3) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'REJECTED' ELSE 'APPROVED' END "
+            + "FROM SYSTEM_RANGE(1, 40000)",
+    "INSERT INTO comments (text, item_id, author_id, created) "
+            + "SELECT 'comment', 1 + MOD(X, 2000), 1 + MOD(X, 200), CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, 4000)",
+    "ANALYZE"
+})
+class QueryIndexUsageTest {
+
+    private static final PageRequest BOOKING_PAGE = PageRequest.of(0, 10,
+            Sort.by(Sort.Direction.DESC, "start", "id"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    public static class SqlCapture implements StatementInspector {
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    private String explainLastStatement() {
+        assertFalse(SqlCapture.STATEMENTS.isEmpty(), "no SQL captured");
+        String sql = SqlCapture.STATEMENTS.get(SqlCapture.STATEMENTS.size() - 1);
+        SqlCapture.STATEMENTS.clear();
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toUpperCase();
+    }
+
+    private void assertServedBy(String index) {
+        String plan = explainLastStatement();
+        assertFalse(plan.contains("TABLESCAN"), plan);
+        assertTrue(plan.contains("PUBLIC." + index), plan);
+    }
+
+    private void assertIndexColumns(String index, String... columns) {
+        List<String> actual = jdbcTemplate.queryForList("SELECT column_name FROM information_schema.index_columns " +
+                "WHERE index_name = ? ORDER BY ordinal_position", String.class, index);
+        assertEquals(List.of(columns), actual, index);
+    }
+
+    @Test
+    void bookerBookings_shouldBeServedByBookerStartIndex() {
+        assertIndexColumns("IDX_BOOKINGS_BOOKER_START", "BOOKER_ID", "START_DATE", "ID");
+
+        LocalDateTime now = LocalDateTime.now();
+
+        bookingRepository.findPastViewsByBookerId(1L, now, BOOKING_PAGE);
+        assertServedBy("IDX_BOOKINGS_BOOKER_START");
+        bookingRepository.findPastViewsByBookerIdBeforeCursor(1L, now, now.minusDays(1), 100L, BOOKING_PAGE);
+        String plan = explainLastStatement();
+        assertTrue(plan.contains("PUBLIC.IDX_BOOKINGS_BOOKER_START: BOOKER_ID = ?1"), plan);
+        assertFalse(plan.contains("IS NULL"), plan);
+    }
+
+    @Test
+    void ownerBookings_shouldBeServedByOwnerAndItemIndexes() {
+        bookingRepository.findViewsByOwnerId(1L, BOOKING_PAGE);
+        String plan = explainLastStatement();
+
+        assertFalse(plan.contains("TABLESCAN"), plan);
+        assertTrue(plan.contains("PUBLIC.IDX_ITEMS_OWNER"), plan);
+        assertTrue(plan.contains("PUBLIC.IDX_BOOKINGS_ITEM_STATUS_START"), plan);
+    }
+
+    @Test
+    void itemBookings_shouldBeServedByItemStatusStartIndex() {
+        assertIndexColumns("IDX_BOOKINGS_ITEM_STATUS_START", "ITEM_ID", "STATUS", "START_DATE");
+        LocalDateTime now = LocalDateTime.now();
+
+        bookingRepository.findLastBookings(List.of(1L, 2L), now);
+        assertServedBy("IDX_BOOKINGS_ITEM_STATUS_START");
+        bookingRepository.findNextBookings(List.of(1L, 2L), now);
+        assertServedBy("IDX_BOOKINGS_ITEM_STATUS_START");
+        bookingRepository.existsByItemIdAndTimeRange(1L, now, now.plusDays(1));
+        assertServedBy("IDX_BOOKINGS_ITEM_STATUS_START");
+    }
+
+    @Test
+    void ownerItems_shouldBeServedByOwnerIndex() {
+        assertIndexColumns("IDX_ITEMS_OWNER", "OWNER_ID", "ID");
+
+        itemRepository.findByOwnerId(1L, PageRequest.of(0, 10));
+        assertServedBy("IDX_ITEMS_OWNER");
+    }
+
+    @Test
+    void requestItems_shouldBeServedByRequestIndex() {
+        assertIndexColumns("IDX_ITEMS_REQUEST", "REQUEST_ID");
+
+        itemRepository.findAllByRequestIdIn(List.of(1L, 2L));
+        assertServedBy("IDX_ITEMS_REQUEST");
+    }
+
+    @Test
+    void itemComments_shouldBeServedByCommentItemIndex() {
+        assertIndexColumns("IDX_COMMENTS_ITEM", "ITEM_ID");
+
+        commentRepository.findByItemIdIn(List.of(1L, 2L));
+        assertServedBy("IDX_COMMENTS_ITEM");
+    }
+
+    @Test
+    void requesterRequests_shouldBeServedByRequesterCreatedIndex() {
+        assertIndexColumns("IDX_REQUESTS_REQUESTER_CREATED", "REQUESTER_ID", "CREATED");
+
+        itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(1L);
+        assertServedBy("IDX_REQUESTS_REQUESTER_CREATED");
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new UserIdFilter(userRepository);
+    }
+
+    @Test
+    void mightExist_beforeWarmUp_shouldAcceptEveryId() {
+        assertTrue(filter.mightExist(42L));
+    }
+
+    @Test
+    void mightExist_afterWarmUp_shouldRejectUnknownIds() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L, 3L));
+
+        filter.warmUp();
+
+        assertTrue(filter.mightExist(1L));
+        assertTrue(filter.mightExist(3L));
+        assertFalse(filter.mightExist(2L));
+    }
+
+    @Test
+    void mightExist_shouldAcceptIdsAboveHighestLoadedId() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L, 3L));
+
+        filter.warmUp();
+
+        assertTrue(filter.mightExist(4L));
+        assertTrue(filter.mightExist(100L));
+    }
+
+    @Test
+    void refresh_shouldPickUpUsersCreatedAndDeletedElsewhere() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L, 3L));
+        filter.warmUp();
+        when(userRepository.findAllIds()).thenReturn(List.of(2L, 3L, 4L, 6L));
+
+        filter.refresh();
+
+        assertFalse(filter.mightExist(1L));
+        assertTrue(filter.mightExist(2L));
+        assertFalse(filter.mightExist(5L));
+        assertTrue(filter.mightExist(6L));
+    }
+
+    @Test
+    void refresh_whenUserAddedWhileLoading_shouldKeepIt() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L));
+        filter.warmUp();
+        when(userRepository.findAllIds()).thenAnswer(invocation -> {
+            filter.add(5L);
+            return List.of(1L, 7L);
+        });
+
+        filter.refresh();
+
+        assertTrue(filter.mightExist(5L));
+        assertFalse(filter.mightExist(6L));
+    }
+
+    @Test
+    void refresh_whenLoadFails_shouldKeepPreviousIds() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L, 3L));
+        filter.warmUp();
+        when(userRepository.findAllIds()).thenThrow(new IllegalStateException("database down"));
+
+        assertThrows(IllegalStateException.class, () -> filter.refresh());
+        filter.add(2L);
+
+        assertTrue(filter.mightExist(2L));
+        assertTrue(filter.mightExist(3L));
+    }
+
+    @Test
+    void refresh_beforeWarmUp_shouldNotLoad() {
+        filter.refresh();
+
+        verify(userRepository, never()).findAllIds();
+        assertTrue(filter.mightExist(1L));
+    }
+
+    @Test
+    void addAndRemove_shouldUpdateFilter() {
+        when(userRepository.findAllIds()).thenReturn(List.of(7L));
+        filter.warmUp();
+
+        filter.add(5L);
+        assertTrue(filter.mightExist(5L));
+
+        filter.remove(5L);
+        assertFalse(filter.mightExist(5L));
+    }
+
+    @Test
+    void mightExist_shouldAcceptIdsOutsideBitmapRange() {
+        when(userRepository.findAllIds()).thenReturn(List.of());
+        filter.warmUp();
+
+        assertTrue(filter.mightExist(null));
+        assertTrue(filter.mightExist(-1L));
+        assertTrue(filter.mightExist(Integer.MAX_VALUE + 1L));
+    }
+}
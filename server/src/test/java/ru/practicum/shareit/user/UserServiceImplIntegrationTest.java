@@ -33,6 +33,9 @@ class UserServiceImplIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserIdFilter userIdFilter;
+
     private User user1;
     private User user2;
 
@@ -143,4 +146,27 @@ class UserServiceImplIntegrationTest {
     void getUser_shouldThrowWhenUserNotFound() {
         assertThrows(NotFoundException.class, () -> userService.getUser(999L));
     }
+
+    @Test
+    void userIdFilter_shouldTrackUsersPersistedOutsideService() {
+        User persisted = em.persist(user1);
+
+        assertTrue(userIdFilter.mightExist(persisted.getId()));
+        assertTrue(userIdFilter.mightExist(persisted.getId() + 1000));
+    }
+
+    @Test
+    void userIdFilter_refresh_shouldDropUsersDeletedOutsideJpa() {
+        User deleted = em.persist(user1);
+        User kept = em.persist(user2);
+        em.flush();
+        em.getEntityManager().createQuery("DELETE FROM User u WHERE u.id = :id")
+                .setParameter("id", deleted.getId())
+                .executeUpdate();
+
+        userIdFilter.refresh();
+
+        assertFalse(userIdFilter.mightExist(deleted.getId()));
+        assertTrue(userIdFilter.mightExist(kept.getId()));
+    }
 }
@@ -1,21 +1,25 @@
 package ru.practicum.shareit.user;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 
+import java.sql.SQLException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -27,49 +31,49 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserIdFilter userIdFilter = new UserIdFilter(null);
+
     @InjectMocks
     private UserServiceImpl userService;
 
     @Test
     void createUser_whenEmailExists_shouldThrowConflictException() {
         User user = new User(null, "Name", "existing@example.com");
-        when(userRepository.existsByEmail(anyString())).thenReturn(true);
+        when(userRepository.saveAndFlush(user)).thenThrow(emailViolation());
 
         assertThrows(ConflictException.class, () -> userService.createUser(user));
-        verify(userRepository).existsByEmail("existing@example.com");
     }
 
     @Test
     void updateUser_whenEmailExists_shouldThrowConflictException() {
         User existingUser = new User(1L, "Name", "old@example.com");
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(existingUser));
-        when(userRepository.existsByEmail(anyString())).thenReturn(true);
+        when(userRepository.saveAndFlush(existingUser)).thenThrow(emailViolation());
 
         User updates = new User();
         updates.setEmail("existing@example.com");
 
         assertThrows(ConflictException.class, () -> userService.updateUser(1L, updates));
-        verify(userRepository).existsByEmail("existing@example.com");
     }
 
     @Test
     void updateUser_whenNoUpdates_shouldReturnOriginalUser() {
         User existingUser = new User(1L, "Name", "email@example.com");
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(any(User.class))).thenReturn(existingUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(existingUser);
 
         User updates = new User();
         User result = userService.updateUser(1L, updates);
 
         assertEquals(existingUser, result);
-        verify(userRepository, never()).existsByEmail(anyString());
     }
 
     @Test
     void updateUser_shouldUpdateOnlyName() {
         User existing = new User(1L, "Old", "old@mail.ru");
         when(userRepository.findById(1L)).thenReturn(Optional.of(existing));
-        when(userRepository.save(any())).thenReturn(existing);
+        when(userRepository.saveAndFlush(any())).thenReturn(existing);
 
         User updates = new User();
         updates.setName("New");
@@ -94,4 +98,30 @@ class UserServiceImplTest {
         assertThrows(NotFoundException.class, () ->
                 userService.getUser(999L));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUser_whenFilterRejectsId_shouldNotQueryRepository() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L, 2L, 1000L));
+        userIdFilter = new UserIdFilter(userRepository);
+        userIdFilter.warmUp();
+        userService = new UserServiceImpl(userRepository, userIdFilter);
+
+        assertThrows(NotFoundException.class, () -> userService.getUser(999L));
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void createUser_whenOtherConstraintViolated_shouldRethrow() {
+        User user = new User(null, "Name", "user@example.com");
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", new SQLException(), "NN_USER_NAME"));
+        when(userRepository.saveAndFlush(user)).thenThrow(violation);
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(user));
+    }
+
+    private static DataIntegrityViolationException emailViolation() {
+        return new DataIntegrityViolationException("duplicate email",
+                new ConstraintViolationException("duplicate email", new SQLException(), "uq_user_email"));
+    }
+}
@@ -11,7 +11,7 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @DataJpaTest
-@Import(UserServiceImpl.class)
+@Import({UserServiceImpl.class, UserIdFilter.class})
 class UserServiceIntegrationTest {
 
     @Autowired
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.user;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.TestConfig;
+import ru.practicum.shareit.exception.ConflictException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import(TestConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserSignupConcurrencyTest {
+    private static final int SIGNUPS = 8;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createUser_withSameEmailInParallel_shouldLetExactlyOneSucceed() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(SIGNUPS);
+        List<Future<User>> signups = new ArrayList<>();
+        try {
+            for (int i = 0; i < SIGNUPS; i++) {
+                String name = "User " + i;
+                signups.add(executor.submit(() -> {
+                    start.await();
+                    return userService.createUser(new User(null, name, "same@example.com"));
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<User> signup : signups) {
+                try {
+                    signup.get();
+                    created++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(ConflictException.class, e.getCause());
+                }
+            }
+
+            assertEquals(1, created);
+            assertEquals(1, userRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void createUser_shouldIssueSingleStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        userService.createUser(new User(null, "First", "first@example.com"));
+        assertEquals(1, statistics.getPrepareStatementCount(), "Expected the insert only");
+
+        statistics.clear();
+        assertThrows(ConflictException.class,
+                () -> userService.createUser(new User(null, "Second", "first@example.com")));
+        assertEquals(1, statistics.getPrepareStatementCount(), "Expected the rejected insert only");
+    }
+}